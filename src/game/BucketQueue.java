@@ -0,0 +1,129 @@
+package game;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An instance is a monotone priority queue of the ints 0..capacity-1 with int priorities
+ * (Dial's bucket queue). It relies on two properties of Dijkstra's algorithm over a graph
+ * whose edge lengths are at most maxWeight:
+ * 1. priorities are never smaller than the priority last polled, and
+ * 2. priorities are never more than maxWeight above the priority last polled.
+ * Hence a circular array of maxWeight + 1 buckets is enough, and every operation
+ * takes amortised constant time. Like {@code IntMinHeap}, it allocates nothing
+ * after construction.
+ */
+final class BucketQueue {
+
+    /**
+     * Bucket b is a doubly linked list of the values with priority p where p % head.length == b.
+     * head[b] is the first value in bucket b, or -1 if it is empty, and next[v] and prev[v] link
+     * the values of a bucket. bucketOf[v] is the bucket of v, or -1 if v is not in the queue.
+     */
+    private final int[] head;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] bucketOf;
+    private int size;
+    /**
+     * The priority of the value last polled; all values in the queue have priorities in
+     * current..current + maxWeight.
+     */
+    private int current;
+
+    /**
+     * Constructor: an empty queue that can hold the values 0..capacity-1,
+     * for a graph whose edge lengths are at most maxWeight.
+     */
+    BucketQueue(int capacity, int maxWeight) {
+        head = new int[maxWeight + 1];
+        next = new int[capacity];
+        prev = new int[capacity];
+        bucketOf = new int[capacity];
+        Arrays.fill(head, -1);
+        Arrays.fill(bucketOf, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add v with priority p to the queue.
+     * Precondition: v is not in the queue, and p is in current..current + maxWeight.
+     */
+    void add(int v, int p) {
+        link(v, p % head.length);
+        size++;
+    }
+
+    /**
+     * Remove and return a value with lowest priority.
+     * Throw a NoSuchElementException if the queue is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int b = current % head.length;
+        while (head[b] < 0) {
+            current++;
+            b = current % head.length;
+        }
+        int v = head[b];
+        unlink(v);
+        size--;
+        return v;
+    }
+
+    /**
+     * Lower the priority of v to p.
+     * Precondition: v is in the queue and p is in current..priority of v.
+     */
+    void decreasePriority(int v, int p) {
+        unlink(v);
+        link(v, p % head.length);
+    }
+
+    /**
+     * Remove all values from the queue and restart the priorities from 0.
+     */
+    void clear() {
+        for (int b = 0; b < head.length; b++) {
+            while (head[b] >= 0) {
+                unlink(head[b]);
+            }
+        }
+        size = 0;
+        current = 0;
+    }
+
+    /**
+     * Push v onto the front of bucket b.
+     */
+    private void link(int v, int b) {
+        bucketOf[v] = b;
+        prev[v] = -1;
+        next[v] = head[b];
+        if (head[b] >= 0) {
+            prev[head[b]] = v;
+        }
+        head[b] = v;
+    }
+
+    /**
+     * Remove v from its bucket.
+     */
+    private void unlink(int v) {
+        int b = bucketOf[v];
+        if (prev[v] >= 0) {
+            next[prev[v]] = next[v];
+        } else {
+            head[b] = next[v];
+        }
+        if (next[v] >= 0) {
+            prev[next[v]] = prev[v];
+        }
+        bucketOf[v] = -1;
+    }
+}
@@ -1,9 +1,22 @@
 package game;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * An instance represents a Cavern that the explorer can navigate through.
@@ -15,14 +28,32 @@ public class Cavern {
     public static final int MAX_EDGE_WEIGHT = 15;
     public static final int MAX_GOLD_VALUE = 1000;
     public static final int TASTY_VALUE = 5000;
-    private static final double DENSITY = 0.6;
     private static final double GOLD_PROBABILITY = 0.33;
+    /**
+     * The first four bytes of a cavern in the binary format ("TOGC")
+     */
+    private static final int BINARY_MAGIC = 0x544F4743;
+    private static final short BINARY_VERSION = 1;
+    /**
+     * Size in bytes of the binary header: magic, version, rows, cols, node count, target id
+     */
+    private static final int BINARY_HEADER_SIZE = 4 + 2 + 4 + 4 + 4 + 8;
+    /**
+     * Size in bytes of a binary node record: id, row, col, gold, type, and one edge weight per direction
+     */
+    private static final int BINARY_RECORD_SIZE = 8 + 4 + 4 + 4 + 1 + Direction.COUNT;
     private final int rows;
     private final int cols;
     private final Set<Node> graph;
     private final Node entrance;
     private final Node target;
     private final Node[][] tiles;
+    private final CsrGraph csr;
+    /**
+     * distancesToTarget[v] is the length of the shortest path from the node with index v of csr
+     * to the target (ShortestPaths.UNREACHED if there is none), computed on first use
+     */
+    private int[] distancesToTarget;
 
     /**
      * Constructor: an instance of size (rws, cls) .
@@ -34,12 +65,32 @@ public class Cavern {
                    int cls,
                    Random rand,
                    Supplier<Integer> edgeWeightGenerator,
-                   Supplier<Integer> goldGenerator,
+                   IntSupplier goldGenerator,
                    Tile.Type targetType) {
+        this(rws, cls, generateGraph(rws, cls, rand, targetType, goldGenerator), targetType,
+            (graph, tiles) -> {
+                createEdges(tiles, edgeWeightGenerator);
+                return CsrGraph.of(graph, rws, cls);
+            });
+    }
+
+    /**
+     * Constructor: an instance of size (rws, cls) whose open tiles are the nodes of dugGraph, which have
+     * no edges yet. Once walls fill the grid of nodes, use {@code edgeBuilder} to add the edges to it
+     * and to return the CSR view of dugGraph and the grid.
+     * Preconditions: the ids of the nodes of {@code dugGraph} are 0..dugGraph.size()-1, one node is the
+     * entrance, and one has type {@code targetType}, which must be either {@code Tile.Type.ORB}
+     * or {@code Tile.Type.ENTRANCE}.
+     */
+    private Cavern(int rws,
+                   int cls,
+                   Set<Node> dugGraph,
+                   Tile.Type targetType,
+                   BiFunction<Set<Node>, Node[][], CsrGraph> edgeBuilder) {
         rows = rws;
         cols = cls;
 
-        graph = generateGraph(rand, targetType, goldGenerator);
+        graph = dugGraph;
 
         entrance = graph.stream().filter((n) -> n.getTile().getType() == Tile.Type.ENTRANCE).findAny().get();
 
@@ -52,14 +103,8 @@ public class Cavern {
             tiles[t.getRow()][t.getColumn()] = node;
         }
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if (tiles[i][j] == null) {
-                    tiles[i][j] = new Node(new Tile(i, j, 0, Tile.Type.WALL));
-                }
-            }
-        }
-        createEdges(tiles, edgeWeightGenerator);
+        fillWalls(tiles, new NodeFactory(graph.size()));
+        csr = edgeBuilder.apply(graph, tiles);
     }
 
     /**
@@ -80,6 +125,7 @@ public class Cavern {
         entrance = graph.stream().filter((n) -> n.getTile().getType() == Tile.Type.ENTRANCE).findAny().get();
 
         target = trgt;
+        csr = CsrGraph.of(graph, rows, cols);
     }
 
     /**
@@ -88,6 +134,18 @@ public class Cavern {
      * Use rand as a source of randomness for the cavern generation.
      */
     public static Cavern digExploreCavern(int rows, int cols, Random rand) {
+        return digExploreCavern(rows, cols, rand, Generation.CLASSIC);
+    }
+
+    /**
+     * Return a new random Cavern of size (rows, cols) with no gold, dug as described by generation.
+     * All edges have weight 1, and an orb is a reasonable distance from the exit.
+     * Use rand as a source of randomness for the cavern generation.
+     */
+    public static Cavern digExploreCavern(int rows, int cols, Random rand, Generation generation) {
+        if (generation == Generation.CONSTRUCTIVE) {
+            return digExploreCavernConstructively(rows, cols, rand);
+        }
         int minOrbDist = minOrbDistance(rows, cols);
 
         Cavern cavern = new Cavern(rows, cols, rand, () -> 1, () -> 0, Tile.Type.ORB);
@@ -97,6 +155,21 @@ public class Cavern {
         return cavern;
     }
 
+    /**
+     * Return a new random explore Cavern of size (rows, cols): dig a cavern from a random entrance
+     * and put the orb on a random tile whose shortest path from the entrance is long enough, or
+     * on a random tile furthest from the entrance if there is none.
+     */
+    private static Cavern digExploreCavernConstructively(int rows, int cols, Random rand) {
+        CavernDigger digger = new CavernDigger(rows, cols);
+        Point entrancePoint = getEntrancePoint(rows, cols, rand);
+        digger.dig(entrancePoint.row, entrancePoint.col, Tile.Type.ENTRANCE, 0, rand, () -> 0, new NodeFactory());
+        Node orb = digger.randomNodeAtLeast(minOrbDistance(rows, cols), rand);
+        orb.getTile().setType(Tile.Type.ORB);
+        return new Cavern(rows, cols, digger.nodes(), Tile.Type.ORB,
+            (graph, tiles) -> StripedEdgeBuilder.build(tiles, 1, 0));
+    }
+
     /**
      * Return the minimum allowable path distance from the entrance to the orb.
      */
@@ -110,8 +183,30 @@ public class Cavern {
      * Use rand as a source of randomness for the cavern generation.
      */
     public static Cavern digEscapeCavern(int rows, int cols, int currentRow, int currentCol, Random rand) {
+        return digEscapeCavern(rows, cols, currentRow, currentCol, rand, Generation.CLASSIC);
+    }
+
+    /**
+     * Return a new random Cavern of size (rows, cols) with random gold and edge weights, dug as
+     * described by generation.
+     * It is guaranteed that (currentRow, currentCol}) will be an open floor cell.
+     * Use rand as a source of randomness for the cavern generation.
+     * Precondition: ({@code currentRow}, {@code currentCol}) is strictly inside the grid.
+     */
+    public static Cavern digEscapeCavern(int rows, int cols, int currentRow, int currentCol, Random rand,
+                                         Generation generation) {
         Supplier<Integer> edgeWeightGen = () -> rand.nextInt(MAX_EDGE_WEIGHT) + 1;
-        Supplier<Integer> goldGen = () -> Cavern.generateGoldValue(rand);
+        IntSupplier goldGen = () -> Cavern.generateGoldValue(rand);
+        if (generation == Generation.CONSTRUCTIVE) {
+            // Dig from the required cell, then open an entrance next to the cavern.
+            CavernDigger digger = new CavernDigger(rows, cols);
+            NodeFactory nodeFactory = new NodeFactory();
+            digger.dig(currentRow, currentCol, Tile.Type.FLOOR, goldGen.getAsInt(), rand, goldGen, nodeFactory);
+            digger.digRandomEntrance(rand, nodeFactory);
+            long edgeSeed = rand.nextLong();
+            return new Cavern(rows, cols, digger.nodes(), Tile.Type.ENTRANCE,
+                (graph, tiles) -> StripedEdgeBuilder.build(tiles, MAX_EDGE_WEIGHT, edgeSeed));
+        }
         Cavern potentialCavern = new Cavern(rows, cols, rand, edgeWeightGen, goldGen, Tile.Type.ENTRANCE);
         while (potentialCavern.getTileAt(currentRow, currentCol).getType() != Tile.Type.FLOOR) {
             potentialCavern = new Cavern(rows, cols, rand, edgeWeightGen, goldGen, Tile.Type.ENTRANCE);
@@ -183,14 +278,98 @@ public class Cavern {
             }
         }
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
+        return fromTiles(new HashSet<>(idToNode.values()), tiles, idToNode.get(targetId));
+    }
+
+    /**
+     * Read a cavern in the format output by {@code serialize()} (one line per string) from reader.
+     * The input is parsed in a single streaming pass; lines are never materialized, so memory use is
+     * bounded by the size of the cavern rather than the size of the input.
+     * Throw an IOException if the input is not in that format.
+     */
+    public static Cavern deserialize(Reader reader) throws IOException {
+        return new CavernTextReader(reader).read();
+    }
+
+    /**
+     * Read a cavern in the format output by {@code serialize()} from channel, which holds UTF-8 text.
+     * See {@code deserialize(Reader)}.
+     */
+    public static Cavern deserialize(ReadableByteChannel channel) throws IOException {
+        return deserialize(Channels.newReader(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Return a cavern made of graph and tiles, with target trgt, in which walls fill the cells of
+     * tiles that have no node. Used by the cavern readers.
+     * If the ids of the nodes of graph are not 0..graph.size()-1, the nodes are renumbered
+     * densely in increasing order of id, so that ids can be used as indices.
+     * Preconditions: as for the corresponding constructor, except that walls may be missing from tiles.
+     */
+    static Cavern fromTiles(Set<Node> graph, Node[][] tiles, Node trgt) {
+        if (!hasDenseIds(graph)) {
+            Map<Long, Node> renumbered = renumber(graph);
+            graph = new HashSet<>(renumbered.values());
+            trgt = renumbered.get(trgt.getId());
+            for (Node[] row : tiles) {
+                Arrays.fill(row, null);
+            }
+            for (Node n : graph) {
+                tiles[n.getTile().getRow()][n.getTile().getColumn()] = n;
+            }
+        }
+        fillWalls(tiles, new NodeFactory(graph.size()));
+        return new Cavern(graph, tiles, trgt);
+    }
+
+    /**
+     * Return true iff the ids of the nodes of graph are exactly 0..graph.size()-1.
+     */
+    private static boolean hasDenseIds(Set<Node> graph) {
+        boolean[] seen = new boolean[graph.size()];
+        for (Node n : graph) {
+            long id = n.getId();
+            if (id < 0 || id >= seen.length || seen[(int) id]) {
+                return false;
+            }
+            seen[(int) id] = true;
+        }
+        return true;
+    }
+
+    /**
+     * Return a copy of graph whose nodes have ids 0..graph.size()-1, given in increasing order of
+     * their old ids, with the same tiles and edges. The copy is keyed by the old ids.
+     */
+    private static Map<Long, Node> renumber(Set<Node> graph) {
+        Node[] byOldId = graph.toArray(new Node[0]);
+        Arrays.sort(byOldId, Comparator.comparingLong(Node::getId));
+        NodeFactory nodeFactory = new NodeFactory();
+        Map<Long, Node> copies = new HashMap<>();
+        for (Node n : byOldId) {
+            copies.put(n.getId(), nodeFactory.create(n.getTile()));
+        }
+        for (Node n : byOldId) {
+            Node copy = copies.get(n.getId());
+            for (Edge e : n.getExits()) {
+                copy.addEdge(new Edge(copy, copies.get(e.getOther(n).getId()), e.length()));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Put a wall node created by nodeFactory in every cell of tiles that has no node,
+     * in row-major order.
+     */
+    private static void fillWalls(Node[][] tiles, NodeFactory nodeFactory) {
+        for (int i = 0; i < tiles.length; i++) {
+            for (int j = 0; j < tiles[i].length; j++) {
                 if (tiles[i][j] == null) {
-                    tiles[i][j] = new Node(new Tile(i, j, 0, Tile.Type.WALL));
+                    tiles[i][j] = nodeFactory.create(new Tile(i, j, 0, Tile.Type.WALL));
                 }
             }
         }
-        return new Cavern(new HashSet<>(idToNode.values()), tiles, idToNode.get(targetId));
     }
 
     /**
@@ -199,114 +378,62 @@ public class Cavern {
      * Precondition: all elements of {@code tiles} are non-null and
      * the grid of nodes has no edges.
      */
-    private void createEdges(Node[][] tiles, Supplier<Integer> edgeWeightGenerator) {
+    private static void createEdges(Node[][] tiles, Supplier<Integer> edgeWeightGenerator) {
         for (int i = 0; i < tiles.length - 1; i++) {
             for (int j = 0; j < tiles[i].length - 1; j++) {
                 Node node = tiles[i][j];
                 if (node.getTile().getType() == Tile.Type.WALL) {
                     continue;
                 }
-
-                final Point p = new Point(i, j);
-                Stream.of(Direction.SOUTH, Direction.EAST)
-                    .map(Direction::getPoint)
-                    .map(p::add)
-                    .map((q) -> tiles[q.row][q.col])
-                    .filter((m) -> m.getTile().getType() != Tile.Type.WALL)
-                    .forEach((m) -> {
-                        int weight = edgeWeightGenerator.get();
-                        node.addEdge(new Edge(node, m, weight));
-                        m.addEdge(new Edge(m, node, weight));
-                    });
+                // South first, then east: the order in which edge weights are drawn.
+                connect(node, tiles[i + 1][j], edgeWeightGenerator);
+                connect(node, tiles[i][j + 1], edgeWeightGenerator);
             }
         }
     }
 
     /**
-     * Return true iff p is on the grid
+     * Connect node to m in both directions with an edge whose weight is drawn from edgeWeightGenerator,
+     * unless m is a wall.
      */
-    private boolean isValid(Point p) {
-        return p.row > 0 && p.row < rows - 1 &&
-            p.col > 0 && p.col < cols - 1;
+    private static void connect(Node node, Node m, Supplier<Integer> edgeWeightGenerator) {
+        if (m.getTile().getType() != Tile.Type.WALL) {
+            int weight = edgeWeightGenerator.get();
+            node.addEdge(new Edge(node, m, weight));
+            m.addEdge(new Edge(m, node, weight));
+        }
     }
 
     /**
-     * Generate a new random graph that fits within the grid and return the set of nodes.
+     * Generate a new random graph of size (rows, cols) that fits within the grid and return the set of nodes,
+     * numbered in the order they are dug.
      * Use goldGenerator to generate gold.
      * If targetType is not ENTRANCE, make the target be some random node that is
      * not the entrance.
      */
-    private Set<Node> generateGraph(Random rand,
-                                    Tile.Type targetType,
-                                    Supplier<Integer> goldGenerator) {
-        List<Node> nodes = new ArrayList<>();
-
-        Set<Point> pointsSeen = new HashSet<>();
-        Set<Point> openPoints = new HashSet<>();
-        Queue<Node> frontier = new ArrayDeque<>();
-
-        Point entrancePoint = getEntrancePoint(rand);
-        Node entrance = new Node(new Tile(entrancePoint.row, entrancePoint.col, 0, Tile.Type.ENTRANCE));
-        nodes.add(entrance);
-
-        pointsSeen.add(entrancePoint);
-        openPoints.add(entrancePoint);
-        frontier.add(entrance);
-        while (!frontier.isEmpty()) {
-            Node node = frontier.remove();
-            Point p = new Point(node.getTile().getRow(), node.getTile().getColumn());
-
-            // We want to make sure there's a way out if we can get one.
-            // This will prevent stupid degenerate graphs.
-            int existingExits = 0;
-            List<Point> newExits = new ArrayList<>();
-            for (Direction dir : Direction.values()) {
-                Point newPt = dir.getPoint().add(p);
-                if (isValid(newPt)) {
-                    if (openPoints.contains(newPt)) {
-                        existingExits++;
-                    } else if (pointsSeen.add(newPt)) {
-                        newExits.add(newPt);
-                    }
-                }
-            }
-
-            int nExits = newExits.size();
-            if (nExits > 0) {
-                double modifiedDensity;
-                Point forcedExit;
-                // Modify the density function so that the expected number of open exits
-                // is the same even though we're forcing something to be open.
-                if (existingExits < 2) {
-                    modifiedDensity = (nExits == 1 ? 0.0 : (nExits * DENSITY - 1) / (nExits - 1));
-                    forcedExit = newExits.get(rand.nextInt(newExits.size()));
-                } else {
-                    modifiedDensity = DENSITY;
-                    forcedExit = null;
-                }
-                newExits.stream()
-                    .filter((q) -> q.equals(forcedExit) || rand.nextDouble() < modifiedDensity)
-                    .peek(openPoints::add)
-                    .map((q) -> new Node(new Tile(q.row, q.col, goldGenerator.get(), Tile.Type.FLOOR)))
-                    .peek(frontier::add)
-                    .forEach(nodes::add);
-            }
-        }
+    private static Set<Node> generateGraph(int rows,
+                                           int cols,
+                                           Random rand,
+                                           Tile.Type targetType,
+                                           IntSupplier goldGenerator) {
+        CavernDigger digger = new CavernDigger(rows, cols);
+        Point entrancePoint = getEntrancePoint(rows, cols, rand);
+        digger.dig(entrancePoint.row, entrancePoint.col, Tile.Type.ENTRANCE, 0, rand, goldGenerator, new NodeFactory());
 
         if (targetType != Tile.Type.ENTRANCE) {
             // Grab a random tile that's not the entrance and make it the target.
-            int targetIdx = rand.nextInt(nodes.size() - 1) + 1;
-            nodes.get(targetIdx).getTile().setType(targetType);
+            int targetIdx = rand.nextInt(digger.count() - 1) + 1;
+            digger.node(targetIdx).getTile().setType(targetType);
         }
 
-        return Collections.unmodifiableSet(new HashSet<>(nodes));
+        return digger.nodes();
     }
 
     /**
-     * Randomly determine and return the entrance to the cavern
+     * Randomly determine and return the entrance to a cavern of size (rows, cols)
      * (the only non-wall tile along an edge of the grid).
      */
-    private Point getEntrancePoint(Random rand) {
+    private static Point getEntrancePoint(int rows, int cols, Random rand) {
         return switch (rand.nextInt(4)) {
             case 0 -> // North wall
                 new Point(rand.nextInt(rows - 2) + 1, 0);
@@ -349,6 +476,14 @@ public class Cavern {
         return graph;
     }
 
+    /**
+     * Return an immutable compressed sparse row view of the graph,
+     * built once when this cavern was created.
+     */
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
     /**
      * Return the node corresponding to the entrance to the cavern.
      */
@@ -380,43 +515,22 @@ public class Cavern {
     }
 
     /**
-     * Package-private implementation of Dijkstra's algorithm that returns
-     * only the minimum distance between the given node and the target node for
-     * this cavern (no path).
+     * Return the length of the shortest path from start to the target of this cavern.
+     * The first call computes the distances from every node to the target with a single search
+     * from the target over the CSR view of the graph (paths are reversible, since every passage has
+     * an edge of the same length in each direction); every call then takes constant time.
+     * Throw an IllegalStateException if the target cannot be reached from start.
      * Precondition: {@code start} must be a node in this cavern.
      */
-    int minPathLengthToTarget(Node start) {
-
-        InternalMinHeap<Node> frontier = new InternalMinHeap<>();
-
-        /** Contains an entry for each node in the Settled and Frontier sets. */
-        Map<Long, Integer> pathWeights = new HashMap<>();
-
-        pathWeights.put(start.getId(), 0);
-        frontier.add(start, 0);
-        /// invariant: as in lecture notes
-        while (!frontier.isEmpty()) {
-            Node f = frontier.poll();
-            if (f.equals(target)) {
-                return pathWeights.get(f.getId());
-            }
-
-            int nWeight = pathWeights.get(f.getId());
-
-            for (Edge e : f.getExits()) {
-                Node w = e.getOther(f);
-                int weightThroughN = nWeight + e.length();
-                Integer existingWeight = pathWeights.get(w.getId());
-                if (existingWeight == null) {
-                    pathWeights.put(w.getId(), weightThroughN);
-                    frontier.add(w, weightThroughN);
-                } else if (weightThroughN < existingWeight) {
-                    pathWeights.put(w.getId(), weightThroughN);
-                    frontier.changePriority(w, weightThroughN);
-                }
-            }
+    public int minPathLengthToTarget(Node start) {
+        if (distancesToTarget == null) {
+            distancesToTarget = new ShortestPaths(csr).distancesFrom(csr.indexOf(target));
         }
-        throw new IllegalStateException("The above loop should always reach the desired location.");
+        int d = distancesToTarget[csr.indexOf(start)];
+        if (d == ShortestPaths.UNREACHED) {
+            throw new IllegalStateException("The search should always reach the desired location.");
+        }
+        return d;
     }
 
     /**
@@ -438,12 +552,211 @@ public class Cavern {
         return nodes;
     }
 
+    /**
+     * Write this cavern to file in the compact binary format read by {@code deserializeBinary()}.
+     * The file starts with a header (magic number, version, rows, cols, number of nodes, target id),
+     * followed by one fixed-size record per node: id, row, column, gold, type, and the weight of its edge
+     * in each grid direction (0 if there is none).
+     * Throw an IllegalStateException if an edge is not along the grid or is longer than 255.
+     */
+    public void serializeBinary(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BINARY_HEADER_SIZE + BINARY_RECORD_SIZE * graph.size());
+        buf.putInt(BINARY_MAGIC).putShort(BINARY_VERSION)
+            .putInt(rows).putInt(cols).putInt(graph.size()).putLong(target.getId());
+        for (Node n : graph) {
+            Tile t = n.getTile();
+            buf.putLong(n.getId()).putInt(t.getRow()).putInt(t.getColumn()).putInt(t.getGold())
+                .put((byte) t.getType().ordinal());
+            int gridEdges = 0;
+            for (Direction dir : Direction.values()) {
+                Edge e = n.getEdge(dir);
+                if (e == null) {
+                    buf.put((byte) 0);
+                } else {
+                    buf.put(toUnsignedByte(e.length()));
+                    gridEdges++;
+                }
+            }
+            if (gridEdges != n.getExits().size()) {
+                throw new IllegalStateException("serializeBinary: every edge must be along the grid");
+            }
+        }
+        buf.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        }
+    }
+
+    /**
+     * Return weight as an unsigned byte.
+     * Throw an IllegalStateException if it does not fit in one.
+     */
+    private static byte toUnsignedByte(int weight) {
+        if (weight < 1 || weight > 0xFF) {
+            throw new IllegalStateException("serializeBinary: edge weight out of range: " + weight);
+        }
+        return (byte) weight;
+    }
+
+    /**
+     * Read a cavern written by {@code serializeBinary()} from file.
+     * The file is memory-mapped and decoded in place, without creating intermediate Strings.
+     * Throw an IOException if file is not in the binary format, or is truncated or corrupt: if its size
+     * does not match its header, a node is off the grid, shares a cell or an id with another node, or has
+     * an unknown or wall type, an edge leads to a cell with no node, or there is no entrance or target.
+     */
+    public static Cavern deserializeBinary(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buf.limit() < BINARY_HEADER_SIZE || buf.getInt() != BINARY_MAGIC) {
+            throw new IOException("Not a binary cavern file: " + file);
+        }
+        short version = buf.getShort();
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported binary cavern version " + version + ": " + file);
+        }
+        int rows = buf.getInt();
+        int cols = buf.getInt();
+        int nodeCount = buf.getInt();
+        long targetId = buf.getLong();
+        if (rows <= 0 || cols <= 0 || nodeCount <= 0 || nodeCount > (long) rows * cols) {
+            throw new IOException("Corrupt binary cavern header (" + rows + " x " + cols + ", "
+                + nodeCount + " nodes): " + file);
+        }
+        if (buf.limit() != BINARY_HEADER_SIZE + (long) BINARY_RECORD_SIZE * nodeCount) {
+            throw new IOException("Binary cavern file of " + buf.limit() + " bytes does not hold "
+                + nodeCount + " nodes: " + file);
+        }
+        Tile.Type[] types = Tile.Type.values();
+
+        // First pass: create the nodes and place them on the grid.
+        Node[][] tiles = new Node[rows][cols];
+        Set<Node> graph = new HashSet<>();
+        Node trgt = null;
+        int records = buf.position();
+        for (int i = 0; i < nodeCount; i++) {
+            long id = buf.getLong();
+            int row = buf.getInt();
+            int col = buf.getInt();
+            int gold = buf.getInt();
+            int type = buf.get();
+            buf.position(buf.position() + Direction.COUNT);
+            if (row < 0 || row >= rows || col < 0 || col >= cols || tiles[row][col] != null) {
+                throw new IOException("Node " + id + " at (" + row + ", " + col
+                    + ") is off the grid or on a cell taken: " + file);
+            }
+            if (type < 0 || type >= types.length || !types[type].isOpen()) {
+                throw new IOException("Node " + id + " has an invalid tile type " + type + ": " + file);
+            }
+
+            Node n = new Node(id, new Tile(row, col, gold, types[type]));
+            tiles[row][col] = n;
+            if (!graph.add(n)) {
+                throw new IOException("Duplicate node id " + id + ": " + file);
+            }
+            if (id == targetId) {
+                trgt = n;
+            }
+        }
+        if (trgt == null) {
+            throw new IOException("Unknown target node " + targetId + ": " + file);
+        }
+        if (graph.stream().noneMatch((n) -> n.getTile().getType() == Tile.Type.ENTRANCE)) {
+            throw new IOException("No entrance node: " + file);
+        }
+
+        // Second pass: connect each node to its neighbours along the grid.
+        for (int i = 0; i < nodeCount; i++) {
+            int record = records + i * BINARY_RECORD_SIZE;
+            Node n = tiles[buf.getInt(record + 8)][buf.getInt(record + 12)];
+            for (Direction dir : Direction.values()) {
+                int weight = Byte.toUnsignedInt(buf.get(record + BINARY_RECORD_SIZE - Direction.COUNT + dir.ordinal()));
+                if (weight > 0) {
+                    Tile t = n.getTile();
+                    int r = t.getRow() + dir.getRowDelta();
+                    int c = t.getColumn() + dir.getColumnDelta();
+                    Node other = r >= 0 && r < rows && c >= 0 && c < cols ? tiles[r][c] : null;
+                    if (other == null) {
+                        throw new IOException("Edge from node " + n.getId() + " leads " + dir
+                            + " to a cell with no node: " + file);
+                    }
+                    n.addEdge(new Edge(n, other, weight));
+                }
+            }
+        }
+
+        return fromTiles(graph, tiles, trgt);
+    }
+
+    /**
+     * Convert the cavern in textFile, in the format output by {@code serialize()},
+     * into the binary format and write it to binaryFile.
+     */
+    public static void convertToBinary(Path textFile, Path binaryFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(textFile)) {
+            deserialize(reader).serializeBinary(binaryFile);
+        }
+    }
+
+    /**
+     * Read a cavern from file, which may be in either the text format output by {@code serialize()}
+     * or the binary format output by {@code serializeBinary()}.
+     */
+    public static Cavern load(Path file) throws IOException {
+        if (isBinary(file)) {
+            return deserializeBinary(file);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return deserialize(reader);
+        }
+    }
+
+    /**
+     * Return true iff file starts with the magic number of the binary format.
+     */
+    private static boolean isBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            return channel.read(magic) == magic.capacity() && magic.getInt(0) == BINARY_MAGIC;
+        }
+    }
+
+    /**
+     * The ways of digging a random cavern.
+     */
+    public enum Generation {
+        /**
+         * Dig whole caverns until one satisfies the constraints: for an explore cavern, the orb is far
+         * enough from the entrance; for an escape cavern, the required cell is open.
+         * This is how caverns have always been dug, so a seed always gives the same game.
+         */
+        CLASSIC,
+        /**
+         * Build the constraints into the digging, so each cavern is dug once: the orb is chosen among the
+         * tiles far enough from the entrance (or furthest from it, in the rare case that none is far enough),
+         * and an escape cavern is dug from the required cell, with a corridor to its entrance in the rare
+         * case that it does not reach the border.
+         * Edges are built by a {@code StripedEdgeBuilder}, in parallel for large caverns.
+         */
+        CONSTRUCTIVE
+    }
+
     /**
      * An enum reprsenting a grid direction.
      */
     public enum Direction {
         NORTH(-1, 0), EAST(0, 1), SOUTH(1, 0), WEST(0, -1);
 
+        /**
+         * The number of directions
+         */
+        public static final int COUNT = 4;
+
         private final Point dir;
 
         /**
@@ -459,6 +772,36 @@ public class Cavern {
         public Point getPoint() {
             return dir;
         }
+
+        /**
+         * Return the change in row when moving in this direction.
+         */
+        public int getRowDelta() {
+            return dir.row;
+        }
+
+        /**
+         * Return the change in column when moving in this direction.
+         */
+        public int getColumnDelta() {
+            return dir.col;
+        }
+
+        /**
+         * Return the direction leading from tile t to the adjacent tile u,
+         * or null if u is not adjacent to t on the grid.
+         */
+        public static Direction between(Tile t, Tile u) {
+            int dRow = u.getRow() - t.getRow();
+            int dCol = u.getColumn() - t.getColumn();
+            if (dCol == 0) {
+                return dRow == -1 ? NORTH : dRow == 1 ? SOUTH : null;
+            }
+            if (dRow == 0) {
+                return dCol == 1 ? EAST : dCol == -1 ? WEST : null;
+            }
+            return null;
+        }
     }
 
     /**
@@ -476,13 +819,6 @@ public class Cavern {
             col = c;
         }
 
-        /**
-         * Return a new point, which is p added to this point.
-         */
-        public Point add(Point p) {
-            return new Point(row + p.row, col + p.col);
-        }
-
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
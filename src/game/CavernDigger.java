@@ -0,0 +1,269 @@
+package game;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * An instance digs the open tiles of one random cavern of size (rows, cols).
+ * Digging starts from one cell and spreads breadth-first: each dug cell opens some of its
+ * undug neighbours strictly inside the grid at random, always opening at least one when
+ * the cell has fewer than two open neighbours.
+ * <p>
+ * Cells are numbered in row-major order (cell r * cols + c is (r, c)) and tracked in flat arrays,
+ * so digging creates no objects other than the nodes and their tiles.
+ */
+final class CavernDigger {
+    private static final double DENSITY = 0.6;
+    private static final Cavern.Direction[] DIRECTIONS = Cavern.Direction.values();
+
+    private final int rows;
+    private final int cols;
+    /**
+     * seen[c] is true iff cell c has been considered for digging, open[c] iff it has been dug
+     */
+    private final boolean[] seen;
+    private final boolean[] open;
+    /**
+     * dug[0..count-1] are the cells dug so far, in the order they were dug,
+     * and nodes[i] is the node of cell dug[i]
+     */
+    private final int[] dug;
+    private final Node[] nodes;
+    private int count;
+
+    /**
+     * Constructor: a digger for a grid of size (rows, cols) with nothing dug yet.
+     */
+    CavernDigger(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        seen = new boolean[rows * cols];
+        open = new boolean[rows * cols];
+        dug = new int[rows * cols];
+        nodes = new Node[rows * cols];
+    }
+
+    /**
+     * Dig from (row, col), which gets a tile of type startType with startGold gold, and return the
+     * number of cells dug. Use rand as the source of randomness, goldGenerator to generate the gold of
+     * the other tiles, and nodeFactory to number the nodes in the order they are dug.
+     * Precondition: nothing has been dug yet.
+     */
+    int dig(int row, int col, Tile.Type startType, int startGold,
+            Random rand, IntSupplier goldGenerator, NodeFactory nodeFactory) {
+        int[] newExits = new int[Cavern.Direction.COUNT];
+        open(row * cols + col, nodeFactory.create(new Tile(row, col, startGold, startType)));
+
+        for (int next = 0; next < count; next++) {
+            int r0 = dug[next] / cols;
+            int c0 = dug[next] % cols;
+
+            // We want to make sure there's a way out if we can get one.
+            // This will prevent stupid degenerate graphs.
+            int existingExits = 0;
+            int nExits = 0;
+            for (Cavern.Direction dir : DIRECTIONS) {
+                int r = r0 + dir.getRowDelta();
+                int c = c0 + dir.getColumnDelta();
+                if (isInterior(r, c)) {
+                    int cell = r * cols + c;
+                    if (open[cell]) {
+                        existingExits++;
+                    } else if (!seen[cell]) {
+                        seen[cell] = true;
+                        newExits[nExits++] = cell;
+                    }
+                }
+            }
+
+            if (nExits > 0) {
+                double modifiedDensity;
+                int forcedExit;
+                // Modify the density function so that the expected number of open exits
+                // is the same even though we're forcing something to be open.
+                if (existingExits < 2) {
+                    modifiedDensity = (nExits == 1 ? 0.0 : (nExits * DENSITY - 1) / (nExits - 1));
+                    forcedExit = newExits[rand.nextInt(nExits)];
+                } else {
+                    modifiedDensity = DENSITY;
+                    forcedExit = -1;
+                }
+                for (int i = 0; i < nExits; i++) {
+                    int cell = newExits[i];
+                    if (cell == forcedExit || rand.nextDouble() < modifiedDensity) {
+                        open(cell, nodeFactory.create(
+                            new Tile(cell / cols, cell % cols, goldGenerator.getAsInt(), Tile.Type.FLOOR)));
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Return a node chosen uniformly at random among the dug nodes whose shortest path from the first
+     * node dug has at least minDistance steps or, if there is none, among the nodes furthest from the
+     * first node. Use rand as the source of randomness.
+     * Precondition: at least two cells have been dug, and minDistance is at least 1.
+     */
+    Node randomNodeAtLeast(int minDistance, Random rand) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        // Breadth-first search from the first cell dug, using queue[head..tail-1] as the queue.
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        dist[dug[0]] = 0;
+        queue[tail++] = dug[0];
+        while (head < tail) {
+            int cell = queue[head++];
+            for (Cavern.Direction dir : DIRECTIONS) {
+                int r = cell / cols + dir.getRowDelta();
+                int c = cell % cols + dir.getColumnDelta();
+                if (r >= 0 && r < rows && c >= 0 && c < cols) {
+                    int other = r * cols + c;
+                    if (open[other] && dist[other] < 0) {
+                        dist[other] = dist[cell] + 1;
+                        queue[tail++] = other;
+                    }
+                }
+            }
+        }
+
+        // Cells enter the queue in order of distance, so the last one is on the furthest layer
+        minDistance = Math.min(minDistance, dist[queue[tail - 1]]);
+
+        int far = 0;
+        for (int i = 0; i < count; i++) {
+            if (dist[dug[i]] >= minDistance) {
+                far++;
+            }
+        }
+        int chosen = rand.nextInt(far);
+        for (int i = 0; i < count; i++) {
+            if (dist[dug[i]] >= minDistance && chosen-- == 0) {
+                return nodes[i];
+            }
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    /**
+     * Dig an entrance on the border of the grid (not in a corner), chosen uniformly at random among the
+     * border cells next to a dug cell. If there is no such cell, first dig a straight corridor of floor
+     * with no gold to the border, chosen uniformly at random among the shortest ones from a dug cell.
+     * Use rand as the source of randomness and nodeFactory to number the corridor and the entrance.
+     * Precondition: at least one cell has been dug.
+     */
+    void digRandomEntrance(Random rand, NodeFactory nodeFactory) {
+        int[] candidates = new int[2 * (rows + cols)];
+        int n = 0;
+        for (int c = 1; c < cols - 1; c++) {
+            if (open[cols + c]) candidates[n++] = c;
+            if (open[(rows - 2) * cols + c]) candidates[n++] = (rows - 1) * cols + c;
+        }
+        for (int r = 1; r < rows - 1; r++) {
+            if (open[r * cols + 1]) candidates[n++] = r * cols;
+            if (open[r * cols + cols - 2]) candidates[n++] = r * cols + cols - 1;
+        }
+        int cell;
+        if (n > 0) {
+            cell = candidates[rand.nextInt(n)];
+        } else {
+            cell = digRandomCorridor(rand, nodeFactory);
+        }
+        open(cell, nodeFactory.create(new Tile(cell / cols, cell % cols, 0, Tile.Type.ENTRANCE)));
+    }
+
+    /**
+     * Dig a straight corridor of floor with no gold from a dug cell towards the border, stopping next to it,
+     * chosen uniformly at random among the shortest such corridors, and return the border cell it leads to.
+     * Use rand as the source of randomness and nodeFactory to number the corridor.
+     * Precondition: at least one cell has been dug, and all dug cells are strictly inside the grid.
+     */
+    private int digRandomCorridor(Random rand, NodeFactory nodeFactory) {
+        // candidates[0..n-1] are the shortest corridors, as i * Direction.COUNT + d.ordinal() for the
+        // corridor from cell dug[i] in direction d
+        int[] candidates = new int[count * Cavern.Direction.COUNT];
+        int n = 0;
+        int shortest = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            for (Cavern.Direction dir : DIRECTIONS) {
+                int length = stepsToBorder(dug[i], dir) - 1;
+                if (length < shortest) {
+                    shortest = length;
+                    n = 0;
+                }
+                if (length == shortest) {
+                    candidates[n++] = i * Cavern.Direction.COUNT + dir.ordinal();
+                }
+            }
+        }
+        int chosen = candidates[rand.nextInt(n)];
+        Cavern.Direction dir = DIRECTIONS[chosen % Cavern.Direction.COUNT];
+        int cell = dug[chosen / Cavern.Direction.COUNT];
+        int step = dir.getRowDelta() * cols + dir.getColumnDelta();
+        // No cell of a shortest corridor is dug, or a shorter one would start there
+        for (int i = 0; i < shortest; i++) {
+            cell += step;
+            open(cell, nodeFactory.create(new Tile(cell / cols, cell % cols, 0, Tile.Type.FLOOR)));
+        }
+        return cell + step;
+    }
+
+    /**
+     * Return the number of steps from cell in direction dir to the border of the grid.
+     */
+    private int stepsToBorder(int cell, Cavern.Direction dir) {
+        int r = cell / cols;
+        int c = cell % cols;
+        if (dir.getRowDelta() != 0) {
+            return dir.getRowDelta() < 0 ? r : rows - 1 - r;
+        }
+        return dir.getColumnDelta() < 0 ? c : cols - 1 - c;
+    }
+
+    /**
+     * Return the number of cells dug so far.
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Return the node of the i-th cell dug (counting from 0).
+     */
+    Node node(int i) {
+        return nodes[i];
+    }
+
+    /**
+     * Return an unmodifiable set of the nodes of the cells dug so far.
+     */
+    Set<Node> nodes() {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(nodes).subList(0, count)));
+    }
+
+    /**
+     * Mark cell as dug, with node n.
+     */
+    private void open(int cell, Node n) {
+        seen[cell] = true;
+        open[cell] = true;
+        dug[count] = cell;
+        nodes[count] = n;
+        count++;
+    }
+
+    /**
+     * Return true iff (r, c) is strictly inside the grid (not on its border).
+     */
+    private boolean isInterior(int r, int c) {
+        return r > 0 && r < rows - 1 &&
+            c > 0 && c < cols - 1;
+    }
+}
@@ -0,0 +1,252 @@
+package game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An instance reads a cavern in the text format output by {@code Cavern.serialize()} from a Reader
+ * in a single pass, without materializing lines or Strings.
+ * Nodes are kept in an array indexed by id, so an edge to a node whose line comes later in the input
+ * is recorded in primitive arrays and resolved once the whole input has been read.
+ * Precondition: node ids are non-negative and small enough to index an array.
+ */
+final class CavernTextReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader in;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+
+    /**
+     * nodesById[id] is the node with that id, or null if it has not been read yet
+     */
+    private Node[] nodesById = new Node[1024];
+
+    /**
+     * Edges to nodes not read yet: pendingFrom[i] has an edge of length pendingWeight[i] to the node with id pendingTo[i]
+     */
+    private Node[] pendingFrom = new Node[256];
+    private long[] pendingTo = new long[256];
+    private int[] pendingWeight = new int[256];
+    private int pendingCount;
+
+    /**
+     * Constructor: an instance reading from in.
+     */
+    CavernTextReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Read the whole input and return the cavern it describes.
+     * Throw an IOException if the input is not in the expected format.
+     */
+    Cavern read() throws IOException {
+        int rows = readInt();
+        expect(':');
+        int cols = readInt();
+        expect(',');
+        expectWord("trgt");
+        expect(':');
+        long targetId = readLong();
+        endLine();
+
+        Node[][] tiles = new Node[rows][cols];
+        Set<Node> graph = new HashSet<>();
+        while (skipBlankLines()) {
+            long id = readLong();
+            expect(',');
+            int row = readInt();
+            expect(',');
+            int col = readInt();
+            expect(',');
+            int gold = readInt();
+            expect(',');
+            Tile.Type type = readType();
+            expect('=');
+
+            Node n = new Node(id, new Tile(row, col, gold, type));
+            putNode(n);
+            tiles[row][col] = n;
+            graph.add(n);
+
+            while (peek() >= 0 && peek() != '\n' && peek() != '\r') {
+                long otherId = readLong();
+                expect('-');
+                int weight = readInt();
+                Node other = nodeWithId(otherId);
+                if (other != null) {
+                    n.addEdge(new Edge(n, other, weight));
+                } else {
+                    addPending(n, otherId, weight);
+                }
+                if (peek() == ',') {
+                    pos++;
+                }
+            }
+            endLine();
+        }
+
+        for (int i = 0; i < pendingCount; i++) {
+            Node other = nodeWithId(pendingTo[i]);
+            if (other == null) {
+                throw new IOException("Edge to unknown node " + pendingTo[i]);
+            }
+            pendingFrom[i].addEdge(new Edge(pendingFrom[i], other, pendingWeight[i]));
+        }
+
+        Node target = nodeWithId(targetId);
+        if (target == null) {
+            throw new IOException("Unknown target node " + targetId);
+        }
+        return Cavern.fromTiles(graph, tiles, target);
+    }
+
+    /**
+     * Store n in nodesById, growing it if necessary.
+     */
+    private void putNode(Node n) throws IOException {
+        long id = n.getId();
+        if (id < 0 || id >= Integer.MAX_VALUE - 8) {
+            throw new IOException("Node id out of range: " + id);
+        }
+        if (id >= nodesById.length) {
+            nodesById = Arrays.copyOf(nodesById, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(id + 1, 2L * nodesById.length)));
+        }
+        nodesById[(int) id] = n;
+    }
+
+    /**
+     * Return the node with the given id, or null if it has not been read yet.
+     */
+    private Node nodeWithId(long id) {
+        return id >= 0 && id < nodesById.length ? nodesById[(int) id] : null;
+    }
+
+    /**
+     * Record an edge from n to the node with id otherId, which has not been read yet.
+     */
+    private void addPending(Node n, long otherId, int weight) {
+        if (pendingCount == pendingFrom.length) {
+            pendingFrom = Arrays.copyOf(pendingFrom, 2 * pendingCount);
+            pendingTo = Arrays.copyOf(pendingTo, 2 * pendingCount);
+            pendingWeight = Arrays.copyOf(pendingWeight, 2 * pendingCount);
+        }
+        pendingFrom[pendingCount] = n;
+        pendingTo[pendingCount] = otherId;
+        pendingWeight[pendingCount] = weight;
+        pendingCount++;
+    }
+
+    /**
+     * Return the next character without consuming it, or -1 at the end of the input.
+     */
+    private int peek() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos];
+    }
+
+    /**
+     * Consume the next character, which must be c.
+     */
+    private void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw new IOException("Expected '" + c + "' but found " + describe(peek()));
+        }
+        pos++;
+    }
+
+    /**
+     * Consume the characters of word, which must come next.
+     */
+    private void expectWord(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            expect(word.charAt(i));
+        }
+    }
+
+    /**
+     * Consume the end of the current line (or of the input).
+     */
+    private void endLine() throws IOException {
+        if (peek() == '\r') {
+            pos++;
+        }
+        if (peek() >= 0) {
+            expect('\n');
+        }
+    }
+
+    /**
+     * Skip empty lines and return true iff there is more input.
+     */
+    private boolean skipBlankLines() throws IOException {
+        while (peek() == '\n' || peek() == '\r') {
+            pos++;
+        }
+        return peek() >= 0;
+    }
+
+    /**
+     * Read an optionally negative decimal number.
+     */
+    private long readLong() throws IOException {
+        boolean negative = peek() == '-';
+        if (negative) {
+            pos++;
+        }
+        int c = peek();
+        if (c < '0' || c > '9') {
+            throw new IOException("Expected a digit but found " + describe(c));
+        }
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            pos++;
+            c = peek();
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Read an optionally negative decimal number that fits in an int.
+     */
+    private int readInt() throws IOException {
+        return Math.toIntExact(readLong());
+    }
+
+    /**
+     * Read the name of a tile type.
+     */
+    private Tile.Type readType() throws IOException {
+        // The names of the tile types all start with different letters.
+        Tile.Type match = null;
+        for (Tile.Type type : Tile.Type.values()) {
+            if (peek() == type.name().charAt(0)) {
+                match = type;
+                break;
+            }
+        }
+        if (match == null) {
+            throw new IOException("Expected a tile type but found " + describe(peek()));
+        }
+        expectWord(match.name());
+        return match;
+    }
+
+    private static String describe(int c) {
+        return c < 0 ? "end of input" : "'" + (char) c + "'";
+    }
+}
@@ -0,0 +1,175 @@
+package game;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An instance is an immutable compressed sparse row (CSR) view of the graph of a cavern.
+ * The index of a node is its id, which is dense (0..size()-1) within a cavern, and the edges leaving the node
+ * with index v are stored in positions offsets[v]..offsets[v+1]-1 of the neighbour and
+ * weight arrays. Walking the adjacency of a node this way allocates nothing and reads
+ * memory sequentially.
+ * <p>
+ * Edges of a node are stored in the order of {@code Cavern.Direction}.
+ */
+public final class CsrGraph {
+    /**
+     * offsets[v]..offsets[v+1]-1 are the positions of the edges leaving node v
+     */
+    private final int[] offsets;
+    /**
+     * neighbours[e] is the index of the node edge e goes to
+     */
+    private final int[] neighbours;
+    /**
+     * weights[e] is the length of edge e
+     */
+    private final int[] weights;
+    /**
+     * nodes[v] is the node with index v
+     */
+    private final Node[] nodes;
+    /**
+     * gridIndex[r * cols + c] is the index of the node at (r, c), or -1 if (r, c) is a wall
+     */
+    private final int[] gridIndex;
+    private final int cols;
+    private final int maxWeight;
+
+    /**
+     * Constructor: an instance with the given arrays, laid out as described for the fields of this class.
+     * The arrays are not copied.
+     */
+    CsrGraph(int[] offsets, int[] neighbours, int[] weights, Node[] nodes, int[] gridIndex, int cols) {
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.weights = weights;
+        this.nodes = nodes;
+        this.gridIndex = gridIndex;
+        this.cols = cols;
+        int max = 0;
+        for (int w : weights) {
+            max = Math.max(max, w);
+        }
+        this.maxWeight = max;
+    }
+
+    /**
+     * Return a CSR view of graph, whose nodes all lie in a grid of size (rows, cols).
+     * Nodes are indexed by id.
+     * Preconditions: the ids of the nodes of {@code graph} are 0..graph.size()-1, and all edges of
+     * {@code graph} are between nodes of {@code graph} that are adjacent on the grid.
+     */
+    static CsrGraph of(Collection<Node> graph, int rows, int cols) {
+        int[] gridIndex = new int[rows * cols];
+        Arrays.fill(gridIndex, -1);
+
+        Node[] nodes = new Node[graph.size()];
+        for (Node n : graph) {
+            nodes[Math.toIntExact(n.getId())] = n;
+        }
+        for (int v = 0; v < nodes.length; v++) {
+            gridIndex[nodes[v].getTile().getRow() * cols + nodes[v].getTile().getColumn()] = v;
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+        for (int v = 0; v < nodes.length; v++) {
+            offsets[v + 1] = offsets[v] + nodes[v].getExits().size();
+        }
+
+        int[] neighbours = new int[offsets[nodes.length]];
+        int[] weights = new int[offsets[nodes.length]];
+        for (int v = 0; v < nodes.length; v++) {
+            int e = offsets[v];
+            for (Cavern.Direction dir : Cavern.Direction.values()) {
+                Edge edge = nodes[v].getEdge(dir);
+                if (edge != null) {
+                    Tile o = edge.getOther(nodes[v]).getTile();
+                    neighbours[e] = gridIndex[o.getRow() * cols + o.getColumn()];
+                    weights[e] = edge.length();
+                    e++;
+                }
+            }
+        }
+        return new CsrGraph(offsets, neighbours, weights, nodes, gridIndex, cols);
+    }
+
+    /**
+     * Return the number of nodes in the graph.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Return the number of directed edges in the graph (twice the number of passages).
+     */
+    public int edgeCount() {
+        return neighbours.length;
+    }
+
+    /**
+     * Return the length of the longest edge in the graph (0 if there are no edges).
+     */
+    public int maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Return the position of the first edge leaving node v.
+     */
+    public int firstEdge(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Return the position one past the last edge leaving node v.
+     */
+    public int endEdge(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * Return the number of edges leaving node v.
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Return the index of the node edge e goes to.
+     */
+    public int neighbour(int e) {
+        return neighbours[e];
+    }
+
+    /**
+     * Return the length of edge e.
+     */
+    public int weight(int e) {
+        return weights[e];
+    }
+
+    /**
+     * Return the node with index v.
+     */
+    public Node node(int v) {
+        return nodes[v];
+    }
+
+    /**
+     * Return the index of the node at (r, c), or -1 if (r, c) is not an open tile.
+     * Precondition: ({@code r}, {@code c}) must be in the grid.
+     */
+    public int indexAt(int r, int c) {
+        return gridIndex[r * cols + c];
+    }
+
+    /**
+     * Return the index of node n, or -1 if n is not in the graph.
+     */
+    public int indexOf(Node n) {
+        long v = n.getId();
+        return v >= 0 && v < nodes.length && nodes[(int) v] == n ? (int) v : -1;
+    }
+}
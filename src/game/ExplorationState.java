@@ -27,6 +27,32 @@ public interface ExplorationState {
      */
     Collection<NodeStatus> getNeighbours();
 
+    /**
+     * The largest number of neighbours a location can have
+     */
+    int MAX_NEIGHBOURS = 4;
+
+    /**
+     * Like {@code getNeighbours()}, but without creating any objects: store the identifiers of
+     * the direct neighbours of your current location in ids[0..k-1] and their distances to the
+     * target along the grid in distances[0..k-1], and return k, the number of neighbours.
+     * Arrays of length MAX_NEIGHBOURS can be reused for every call.
+     * Throw an IllegalArgumentException if the arrays are too short to hold all neighbours.
+     */
+    default int getNeighbours(long[] ids, int[] distances) {
+        Collection<NodeStatus> neighbours = getNeighbours();
+        if (ids.length < neighbours.size() || distances.length < neighbours.size()) {
+            throw new IllegalArgumentException("getNeighbours: arrays too short for " + neighbours.size() + " neighbours");
+        }
+        int k = 0;
+        for (NodeStatus n : neighbours) {
+            ids[k] = n.nodeID();
+            distances[k] = n.distanceToTarget();
+            k++;
+        }
+        return k;
+    }
+
     /**
      * Return your current distance along the grid (NOT THE GRAPH) from the target.
      */
@@ -0,0 +1,18 @@
+package game;
+
+/**
+ * The outcome of one headless game.
+ *
+ * @param seed             the seed the game was built from
+ * @param score            the final score
+ * @param goldCollected    the gold collected during the escape phase
+ * @param bonusFactor      the bonus multiplier earned during the explore phase
+ * @param exploreSteps     the number of steps taken during the explore phase
+ * @param minExploreSteps  the length of the shortest path from the entrance to the orb
+ * @param exploreSucceeded whether the explorer ended the explore phase on the orb
+ * @param escapeSucceeded  whether the explorer ended the escape phase on the exit
+ * @param output           everything the game printed, in the order it was printed
+ */
+public record GameResult(long seed, int score, int goldCollected, double bonusFactor,
+                         int exploreSteps, int minExploreSteps, boolean exploreSucceeded, boolean escapeSucceeded, String output) {
+}
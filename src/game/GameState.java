@@ -3,28 +3,35 @@ package game;
 import gui.GUI;
 import student.Explorer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static game.Constants.*;
 
 public class GameState implements ExplorationState, EscapeState {
 
-    private static final Random rand;
-
-    static {
-        rand = new Random();
-    }
-
     private final Cavern exploreCavern;
     private final Cavern escapeCavern;
     private final Explorer explorer;
     private final Optional<GUI> gui;
+    /**
+     * The streams this game reports its progress and errors to
+     */
+    private final PrintStream out;
+    private final PrintStream err;
     private final long seed;
     private final int minTimeToExplore;
+    /**
+     * manhattanToTarget[v] is the distance along the grid from the node with id v of the explore cavern
+     * to its target
+     */
+    private final int[] manhattanToTarget;
     private Node position;
     private int stepsTaken;
     private int timeRemaining;
@@ -36,9 +43,10 @@ public class GameState implements ExplorationState, EscapeState {
     private boolean escapeErrored = false;
 
     public GameState(Path exploreCavernPath, Path escapeCavernPath, boolean useGui) throws IOException {
-        exploreCavern = Cavern.deserialize(Files.readAllLines(exploreCavernPath));
+        exploreCavern = Cavern.load(exploreCavernPath);
         minTimeToExplore = exploreCavern.minPathLengthToTarget(exploreCavern.getEntrance());
-        escapeCavern = Cavern.deserialize(Files.readAllLines(escapeCavernPath));
+        manhattanToTarget = computeDistancesToTarget(exploreCavern);
+        escapeCavern = Cavern.load(escapeCavernPath);
 
         explorer = new Explorer();
 
@@ -48,6 +56,8 @@ public class GameState implements ExplorationState, EscapeState {
         goldCollected = 0;
 
         seed = -1;
+        out = System.out;
+        err = System.err;
 
         stage = Stage.EXPLORE;
         if (useGui) {
@@ -58,34 +68,49 @@ public class GameState implements ExplorationState, EscapeState {
     }
 
     /**
-     * Constructor: a random instance with a GUI only if useGUI is true.
+     * Constructor: a random instance with a GUI only if useGUI is true, played by explorer.
+     * The seed is drawn from the current thread's random generator, so games started
+     * concurrently do not contend for a shared one.
      */
-    private GameState(boolean useGui) {
-        this(rand.nextLong(), useGui);
+    private GameState(boolean useGui, Cavern.Generation generation, Explorer explorer) {
+        this(ThreadLocalRandom.current().nextLong(), useGui, generation, explorer);
     }
 
     /**
-     * Constructor: a random instance with a GUI only if useGUI is true.
+     * Constructor: a random instance with a GUI only if useGUI is true, played by explorer.
      * The randomness is based on seed.
      */
-    private GameState(long seed, boolean useGui) {
+    private GameState(long seed, boolean useGui, Cavern.Generation generation, Explorer explorer) {
+        this(seed, useGui, generation, explorer, System.out, System.err);
+    }
+
+    /**
+     * Constructor: a random instance with a GUI only if useGUI is true, played by explorer and
+     * reporting to out and err. The randomness is based on seed, and the caverns are dug as described
+     * by generation.
+     */
+    private GameState(long seed, boolean useGui, Cavern.Generation generation, Explorer explorer,
+                      PrintStream out, PrintStream err) {
         Random rand = new Random(seed);
         int ROWS = rand.nextInt(MAX_ROWS - MIN_ROWS + 1) + MIN_ROWS;
         int COLS = rand.nextInt(MAX_COLS - MIN_COLS + 1) + MIN_COLS;
-        exploreCavern = Cavern.digExploreCavern(ROWS, COLS, rand);
+        exploreCavern = Cavern.digExploreCavern(ROWS, COLS, rand, generation);
         minTimeToExplore = exploreCavern.minPathLengthToTarget(exploreCavern.getEntrance());
+        manhattanToTarget = computeDistancesToTarget(exploreCavern);
         Tile orbTile = exploreCavern.getTarget().getTile();
-        escapeCavern = Cavern.digEscapeCavern(ROWS, COLS, orbTile.getRow(), orbTile.getColumn(), rand);
+        escapeCavern = Cavern.digEscapeCavern(ROWS, COLS, orbTile.getRow(), orbTile.getColumn(), rand, generation);
 
         position = exploreCavern.getEntrance();
         stepsTaken = 0;
         timeRemaining = Integer.MAX_VALUE;
         goldCollected = 0;
 
-        explorer = new Explorer();
+        this.explorer = explorer;
         stage = Stage.EXPLORE;
 
         this.seed = seed;
+        this.out = out;
+        this.err = err;
 
         if (useGui) {
             gui = Optional.of(new GUI(exploreCavern, position.getTile().getRow(),
@@ -96,17 +121,77 @@ public class GameState implements ExplorationState, EscapeState {
     }
 
     public static int runNewGame(long seed, boolean useGui) {
+        return runNewGame(seed, useGui, Cavern.Generation.CLASSIC);
+    }
+
+    /**
+     * Run a new game based on seed (a random one if seed is 0), with caverns dug as described
+     * by generation, and return its score.
+     */
+    public static int runNewGame(long seed, boolean useGui, Cavern.Generation generation) {
+        return runNewGame(seed, useGui, generation, new Explorer());
+    }
+
+    /**
+     * Run a new game based on seed (a random one if seed is 0), with caverns dug as described
+     * by generation and played by explorer, and return its score.
+     */
+    public static int runNewGame(long seed, boolean useGui, Cavern.Generation generation, Explorer explorer) {
         GameState state;
         if (seed != 0) {
-            state = new GameState(seed, useGui);
+            state = new GameState(seed, useGui, generation, explorer);
         } else {
-            state = new GameState(useGui);
+            state = new GameState(useGui, generation, explorer);
         }
-        System.out.println("Seed : " + state.seed);
+        state.out.println("Seed : " + state.seed);
         state.run();
         return state.getScore();
     }
 
+    /**
+     * Run a new game without a GUI, based on seed, and return its result.
+     * Everything the game would print is captured in the result instead, so games
+     * running concurrently on different threads do not interleave their output.
+     *
+     * @param seed the seed of the game
+     * @return the result of the game
+     */
+    public static GameResult runHeadlessGame(long seed) {
+        return runHeadlessGame(seed, Cavern.Generation.CLASSIC);
+    }
+
+    /**
+     * Run a new game without a GUI, based on seed and with caverns dug as described by generation,
+     * and return its result. See {@code runHeadlessGame(long)}.
+     *
+     * @param seed       the seed of the game
+     * @param generation how the caverns are dug
+     * @return the result of the game
+     */
+    public static GameResult runHeadlessGame(long seed, Cavern.Generation generation) {
+        return runHeadlessGame(seed, generation, new Explorer());
+    }
+
+    /**
+     * Run a new game without a GUI, based on seed and with caverns dug as described by generation,
+     * played by explorer, and return its result. See {@code runHeadlessGame(long)}.
+     *
+     * @param seed       the seed of the game
+     * @param generation how the caverns are dug
+     * @param explorer   the explorer playing the game
+     * @return the result of the game
+     */
+    public static GameResult runHeadlessGame(long seed, Cavern.Generation generation, Explorer explorer) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream log = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        GameState state = new GameState(seed, false, generation, explorer, log, log);
+        log.println("Seed : " + state.seed);
+        state.run();
+        return new GameResult(seed, state.getScore(), state.getGoldCollected(), state.computeBonusFactor(),
+            state.stepsTaken, state.minTimeToExplore, state.exploreSucceeded, state.escapeSucceeded,
+            buffer.toString(StandardCharsets.UTF_8));
+    }
+
     /**
      * Run the game: first find the Orb and then escape.
      */
@@ -135,9 +220,9 @@ public class GameState implements ExplorationState, EscapeState {
             }
         } catch (Throwable t) {
             output(gui, "Your code caused an error  during the explore phase. Please see console output.");
-            System.err.println("We will move on to the escape phase anyway, but your solution is not correct!");
-            System.err.println("Here is the error that occurred.");
-            t.printStackTrace();
+            err.println("We will move on to the escape phase anyway, but your solution is not correct!");
+            err.println("Here is the error that occurred.");
+            t.printStackTrace(err);
             exploreErrored = true;
         }
     }
@@ -165,17 +250,17 @@ public class GameState implements ExplorationState, EscapeState {
             output(gui, "Your solution to escape ran out of steps before returning!");
         } catch (Throwable t) {
             output(gui, "Your code caused an error during the escape phase. Please see console output.");
-            t.printStackTrace();
+            t.printStackTrace(err);
             escapeErrored = true;
         }
 
         if (!escapeSucceeded) {
             output(gui, "Your solution to escape failed to end at the stairs. Your code is not correct!");
         }
-        System.out.println("Gold collected   : " + getGoldCollected());
+        out.println("Gold collected   : " + getGoldCollected());
         DecimalFormat df = new DecimalFormat("#.##");
-        System.out.println("Bonus multiplier : " + df.format(computeBonusFactor()));
-        System.out.println("Score            : " + getScore());
+        out.println("Bonus multiplier : " + df.format(computeBonusFactor()));
+        out.println("Score            : " + getScore());
     }
 
     /**
@@ -244,15 +329,50 @@ public class GameState implements ExplorationState, EscapeState {
 
         Collection<NodeStatus> options = new ArrayList<>();
         for (Node n : position.getNeighbours()) {
-            int distance = computeDistanceToTarget(n.getTile().getRow(), n.getTile().getColumn());
-            options.add(new NodeStatus(n.getId(), distance));
+            options.add(new NodeStatus(n.getId(), manhattanToTarget[(int) n.getId()]));
         }
         return options;
     }
 
-    private int computeDistanceToTarget(int row, int col) {
-        return Math.abs(row - exploreCavern.getTarget().getTile().getRow())
-            + Math.abs(col - exploreCavern.getTarget().getTile().getColumn());
+    /**
+     * Stores the ids and distances to the target of the neighbours of the current location in ids
+     * and distances, and returns their number. Reads the CSR view of the explore cavern and the
+     * precomputed distances, so it creates no objects.
+     */
+    @Override
+    public int getNeighbours(long[] ids, int[] distances) {
+        if (stage != Stage.EXPLORE) {
+            throw new IllegalStateException("getNeighbours() can only be called while exploring!");
+        }
+
+        CsrGraph csr = exploreCavern.getCsrGraph();
+        int v = (int) position.getId();
+        if (ids.length < csr.degree(v) || distances.length < csr.degree(v)) {
+            throw new IllegalArgumentException("getNeighbours: arrays too short for " + csr.degree(v) + " neighbours");
+        }
+        int k = 0;
+        for (int e = csr.firstEdge(v), end = csr.endEdge(v); e < end; e++) {
+            int w = csr.neighbour(e);
+            ids[k] = w;
+            distances[k] = manhattanToTarget[w];
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Return an array whose element v is the distance along the grid from the node with id v
+     * of cavern to its target.
+     */
+    private static int[] computeDistancesToTarget(Cavern cavern) {
+        CsrGraph csr = cavern.getCsrGraph();
+        Tile target = cavern.getTarget().getTile();
+        int[] distances = new int[csr.size()];
+        for (int v = 0; v < distances.length; v++) {
+            Tile t = csr.node(v).getTile();
+            distances[v] = Math.abs(t.getRow() - target.getRow()) + Math.abs(t.getColumn() - target.getColumn());
+        }
+        return distances;
     }
 
     /**
@@ -264,7 +384,7 @@ public class GameState implements ExplorationState, EscapeState {
             throw new IllegalStateException("getDistanceToTarget() can only be called while exploring!");
         }
 
-        return computeDistanceToTarget(position.getTile().getRow(), position.getTile().getColumn());
+        return manhattanToTarget[(int) position.getId()];
     }
 
     @Override
@@ -371,7 +491,7 @@ public class GameState implements ExplorationState, EscapeState {
     }
 
     private void output(Optional<GUI> gui, String s) {
-        System.err.println(s);
+        err.println(s);
         gui.ifPresent((g) -> g.displayError(s));
     }
 
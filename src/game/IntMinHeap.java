@@ -0,0 +1,154 @@
+package game;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An instance is a priority queue of the ints 0..capacity-1 with int priorities,
+ * implemented as an indexed binary min-heap. It boxes nothing and allocates nothing
+ * after construction.
+ */
+final class IntMinHeap {
+
+    /**
+     * The heap invariant is given below. Note that / denotes int division.
+     * <p>
+     * heap[0..size-1] is viewed as a min-heap, i.e.
+     * 1. Each array element in heap[0..size-1] contains a value of the heap.
+     * 2. The children of each heap[i] are heap[2i+1] and heap[2i+2].
+     * 3. The parent of each heap[i] (except heap[0]) is heap[(i-1)/2].
+     * 4. The priority of the parent of each heap[i] is <= the priority of heap[i].
+     * 5. For each value v in the heap, priority[v] is its priority and
+     * position[v] is its index in heap. position[v] is -1 for values not in the heap.
+     */
+    private final int[] heap;
+    private final int[] position;
+    private final int[] priority;
+    private int size;
+
+    /**
+     * Constructor: an empty heap that can hold the values 0..capacity-1.
+     */
+    IntMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        priority = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Return the number of values in the priority queue.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return true iff v is in the priority queue.
+     */
+    boolean contains(int v) {
+        return position[v] >= 0;
+    }
+
+    /**
+     * Add v with priority p to the priority queue.
+     * Throw an IllegalArgumentException if v is already in the queue.
+     */
+    void add(int v, int p) {
+        if (contains(v)) {
+            throw new IllegalArgumentException("Cannot insert the same element twice");
+        }
+        priority[v] = p;
+        heap[size] = v;
+        position[v] = size;
+        size++;
+        bubbleUp(size - 1);
+    }
+
+    /**
+     * Remove and return the value with lowest priority.
+     * Throw a NoSuchElementException if the priority queue is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int val = heap[0];
+        position[val] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            bubbleDown(0);
+        }
+        return val;
+    }
+
+    /**
+     * Lower the priority of v to p.
+     * Precondition: v is in the queue and p is not greater than its current priority.
+     */
+    void decreasePriority(int v, int p) {
+        priority[v] = p;
+        bubbleUp(position[v]);
+    }
+
+    /**
+     * Remove all values from the priority queue.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Bubble heap[k] up to its right place.
+     */
+    private void bubbleUp(int k) {
+        int val = heap[k];
+        int p = priority[val];
+        int i = k;
+        while (i > 0) {
+            int parentIdx = (i - 1) / 2;
+            int parentVal = heap[parentIdx];
+            if (priority[parentVal] <= p) {
+                break;
+            }
+            heap[i] = parentVal;
+            position[parentVal] = i;
+            i = parentIdx;
+        }
+        heap[i] = val;
+        position[val] = i;
+    }
+
+    /**
+     * Bubble heap[k] down to its right place.
+     */
+    private void bubbleDown(int k) {
+        int val = heap[k];
+        int p = priority[val];
+        int i = k;
+        while (2 * i + 1 < size) {
+            int childIdx = 2 * i + 1;
+            if (childIdx + 1 < size && priority[heap[childIdx + 1]] < priority[heap[childIdx]]) {
+                childIdx++;
+            }
+            int childVal = heap[childIdx];
+            if (p <= priority[childVal]) {
+                break;
+            }
+            heap[i] = childVal;
+            position[childVal] = i;
+            i = childIdx;
+        }
+        heap[i] = val;
+        position[val] = i;
+    }
+}
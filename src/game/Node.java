@@ -10,12 +10,7 @@ import java.util.Set;
  */
 public class Node {
     /**
-     * The least positive fresh identifier available
-     */
-    private static long FRESH_ID = 0;
-
-    /**
-     * The unique numerical identifier of this Node
+     * The numerical identifier of this Node, unique within its cavern
      */
     private final long id;
     /**
@@ -24,6 +19,11 @@ public class Node {
     private final Set<Edge> edges;
     private final Set<Node> neighbours;
 
+    /**
+     * edgeSlots[d.ordinal()] is the edge leaving this Node in grid direction d, or null if there is none
+     */
+    private final Edge[] edgeSlots;
+
     private final Set<Edge> unmodifiableEdges;
     private final Set<Node> unmodifiableNeighbours;
 
@@ -32,18 +32,20 @@ public class Node {
      */
     private final Tile tile;
 
-    /* package */ Node(Tile t) {
-        this(FRESH_ID, t);
-    }
+    /**
+     * The CSR graph from which the edges of this Node are still to be created on first access,
+     * or null if they are in edges already
+     */
+    private volatile CsrGraph pendingEdges;
 
     /**
      * Constructor: an instance with id givenId and tile t
      */
     /* package */ Node(long givenId, Tile t) {
         id = givenId;
-        FRESH_ID = Math.max(FRESH_ID, givenId + 1);
         edges = new HashSet<>();
         neighbours = new HashSet<>();
+        edgeSlots = new Edge[Cavern.Direction.COUNT];
 
         unmodifiableEdges = Collections.unmodifiableSet(edges);
         unmodifiableNeighbours = Collections.unmodifiableSet(neighbours);
@@ -56,11 +58,50 @@ public class Node {
      */
     /* package */ void addEdge(Edge e) {
         edges.add(e);
-        neighbours.add(e.getOther(this));
+        Node other = e.getOther(this);
+        neighbours.add(other);
+        Cavern.Direction dir = Cavern.Direction.between(tile, other.tile);
+        if (dir != null) {
+            edgeSlots[dir.ordinal()] = e;
+        }
+    }
+
+    /**
+     * Create the edges of this Node from its adjacency in csr when they are first accessed, instead of now.
+     * Precondition: this Node has no edges, and its index in {@code csr} is its id.
+     */
+    /* package */ void addEdgesLazily(CsrGraph csr) {
+        pendingEdges = csr;
+    }
+
+    /**
+     * Create the edges of this Node if they are still pending.
+     */
+    private void ensureEdges() {
+        if (pendingEdges != null) {
+            createPendingEdges();
+        }
+    }
+
+    /**
+     * Create the edges of this Node from the adjacency of this Node in pendingEdges, once.
+     */
+    private synchronized void createPendingEdges() {
+        CsrGraph csr = pendingEdges;
+        if (csr == null) {
+            return;
+        }
+        int v = Math.toIntExact(id);
+        for (int e = csr.firstEdge(v); e < csr.endEdge(v); e++) {
+            addEdge(new Edge(this, csr.node(csr.neighbour(e)), csr.weight(e)));
+        }
+        pendingEdges = null;
     }
 
     /**
-     * Return the unique Identifier of this Node.
+     * Return the Identifier of this Node. Ids are unique only within a cavern: the nodes of each
+     * cavern are numbered 0, 1, 2, ..., so nodes of different caverns (e.g. the explore and escape
+     * caverns of one game) can have the same id.
      */
     public long getId() {
         return id;
@@ -68,9 +109,17 @@ public class Node {
 
     /**
      * Returns the Edge of this Node that connects to q.
-     * .     * Throw an IllegalArgumentException if there is no such edge.
+     * Throw an IllegalArgumentException if there is no such edge.
      */
     public Edge getEdge(Node q) {
+        ensureEdges();
+        Cavern.Direction dir = Cavern.Direction.between(tile, q.tile);
+        if (dir != null) {
+            Edge e = edgeSlots[dir.ordinal()];
+            if (e != null && e.getDest().equals(q)) {
+                return e;
+            }
+        }
         for (Edge e : edges) {
             if (e.getDest().equals(q)) {
                 return e;
@@ -79,10 +128,38 @@ public class Node {
         throw new IllegalArgumentException("getEdge: Node must be a neighbour of this Node");
     }
 
+    /**
+     * Returns the Edge of this Node that connects to the Node with id qId.
+     * Throw an IllegalArgumentException if there is no such edge.
+     */
+    public Edge getEdge(long qId) {
+        ensureEdges();
+        for (Edge e : edgeSlots) {
+            if (e != null && e.getDest().id == qId) {
+                return e;
+            }
+        }
+        for (Edge e : edges) {
+            if (e.getDest().id == qId) {
+                return e;
+            }
+        }
+        throw new IllegalArgumentException("getEdge: Node must be a neighbour of this Node");
+    }
+
+    /**
+     * Returns the Edge of this Node leaving in grid direction dir, or null if there is none.
+     */
+    public Edge getEdge(Cavern.Direction dir) {
+        ensureEdges();
+        return edgeSlots[dir.ordinal()];
+    }
+
     /**
      * Return an unmodifiable set of Edges leaving this Node.
      */
     public Set<Edge> getExits() {
+        ensureEdges();
         return unmodifiableEdges;
     }
 
@@ -90,6 +167,7 @@ public class Node {
      * Return an unmodifiable set Nodes neighbouring this Node.
      */
     public Set<Node> getNeighbours() {
+        ensureEdges();
         return unmodifiableNeighbours;
     }
 
@@ -101,7 +179,9 @@ public class Node {
     }
 
     /**
-     * Return truee if ob is a Node with the same id as this one.
+     * Return true if ob is a Node with the same id as this one.
+     * Since ids are unique only within a cavern, only nodes of the same cavern should be compared,
+     * or kept in the same hash-based collection.
      */
     @Override
     public boolean equals(Object ob) {
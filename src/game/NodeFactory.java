@@ -0,0 +1,42 @@
+package game;
+
+/**
+ * An instance hands out node ids for one cavern. Ids are dense: the nodes of a cavern
+ * are numbered 0, 1, 2, ... in the order they are created, so an id can be used as an
+ * index into an array over the nodes of the cavern (see {@code CsrGraph}).
+ * Each cavern has its own factory, so caverns can be built concurrently.
+ */
+final class NodeFactory {
+    /**
+     * The id of the next node to be created
+     */
+    private int nextId;
+
+    /**
+     * Constructor: a factory whose first node gets id 0.
+     */
+    NodeFactory() {
+        this(0);
+    }
+
+    /**
+     * Constructor: a factory whose first node gets id firstId.
+     */
+    NodeFactory(int firstId) {
+        nextId = firstId;
+    }
+
+    /**
+     * Return a new node with tile t and the next id.
+     */
+    Node create(Tile t) {
+        return new Node(nextId++, t);
+    }
+
+    /**
+     * Return the number of ids handed out so far (including any skipped with the constructor).
+     */
+    int count() {
+        return nextId;
+    }
+}
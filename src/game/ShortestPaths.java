@@ -0,0 +1,214 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * An instance computes shortest path lengths in a {@code CsrGraph} over the dense node
+ * indices of the graph. Unless told otherwise, the engine is picked from the edge lengths of the graph:
+ * 1. breadth-first search if every edge has length 1 (e.g. explore caverns),
+ * 2. Dial's algorithm with a {@code BucketQueue} if every edge length is at most
+ * {@code Cavern.MAX_EDGE_WEIGHT}, which takes O(V + E) time,
+ * 3. Dijkstra's algorithm with an {@code IntMinHeap} otherwise.
+ * All working storage is allocated on the first query and reused between queries.
+ * <p>
+ * An instance is not thread-safe.
+ */
+final class ShortestPaths {
+
+    /**
+     * The distance of a node that has not been reached
+     */
+    static final int UNREACHED = Integer.MAX_VALUE;
+
+    /**
+     * The ways of searching a graph, fastest first.
+     */
+    enum Engine {
+        /**
+         * Breadth-first search, for graphs whose edges all have length 1
+         */
+        BREADTH_FIRST,
+        /**
+         * Dial's algorithm, for graphs whose edge lengths are all at most Cavern.MAX_EDGE_WEIGHT
+         */
+        DIAL,
+        /**
+         * Dijkstra's algorithm, for any graph
+         */
+        DIJKSTRA;
+
+        /**
+         * Return true iff this engine can search g.
+         */
+        boolean canSearch(CsrGraph g) {
+            return switch (this) {
+                case BREADTH_FIRST -> g.maxWeight() <= 1;
+                case DIAL -> g.maxWeight() <= Cavern.MAX_EDGE_WEIGHT;
+                case DIJKSTRA -> true;
+            };
+        }
+
+        /**
+         * Return the fastest engine that can search g.
+         */
+        static Engine suitedTo(CsrGraph g) {
+            for (Engine engine : values()) {
+                if (engine.canSearch(g)) {
+                    return engine;
+                }
+            }
+            return DIJKSTRA;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final Engine engine;
+    /**
+     * dist[v] is the length of the shortest known path to v in the current query, or UNREACHED
+     */
+    private final int[] dist;
+    /**
+     * touched[0..touchedCount-1] are the nodes whose dist was set by the current query,
+     * in the order they were reached. Breadth-first search uses it as its queue.
+     */
+    private final int[] touched;
+    private int touchedCount;
+    private IntMinHeap heap;
+    private BucketQueue buckets;
+
+    /**
+     * Constructor: an instance for graph g, using the fastest engine that can search it.
+     */
+    ShortestPaths(CsrGraph g) {
+        this(g, Engine.suitedTo(g));
+    }
+
+    /**
+     * Constructor: an instance for graph g, using engine.
+     * Throw an IllegalArgumentException if engine cannot search g.
+     */
+    ShortestPaths(CsrGraph g, Engine engine) {
+        if (!engine.canSearch(g)) {
+            throw new IllegalArgumentException("ShortestPaths: " + engine + " cannot search a graph with edges of length "
+                + g.maxWeight());
+        }
+        graph = g;
+        this.engine = engine;
+        dist = new int[g.size()];
+        Arrays.fill(dist, UNREACHED);
+        touched = new int[g.size()];
+    }
+
+    /**
+     * Return a new array whose element v is the length of the shortest path from node source
+     * to node v, or UNREACHED if v cannot be reached from source.
+     */
+    int[] distancesFrom(int source) {
+        search(source);
+        return dist.clone();
+    }
+
+    /**
+     * Search the part of the graph reachable from node source with the engine of this instance,
+     * leaving the distance of every node in dist.
+     */
+    private void search(int source) {
+        reset();
+        setDist(source, 0);
+        switch (engine) {
+            case BREADTH_FIRST -> breadthFirst();
+            case DIAL -> dial(source);
+            case DIJKSTRA -> dijkstra(source);
+        }
+    }
+
+    /**
+     * Set the distances by breadth-first search from the node reached so far.
+     * Precondition: every edge of the graph has length 1.
+     */
+    private void breadthFirst() {
+        for (int i = 0; i < touchedCount; i++) {
+            int f = touched[i];
+            for (int e = graph.firstEdge(f), end = graph.endEdge(f); e < end; e++) {
+                int w = graph.neighbour(e);
+                if (dist[w] == UNREACHED) {
+                    setDist(w, dist[f] + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the distances from source using Dial's algorithm.
+     * Precondition: every edge of the graph has length at most Cavern.MAX_EDGE_WEIGHT.
+     */
+    private void dial(int source) {
+        if (buckets == null) {
+            buckets = new BucketQueue(graph.size(), Cavern.MAX_EDGE_WEIGHT);
+        }
+        buckets.add(source, 0);
+        while (!buckets.isEmpty()) {
+            int f = buckets.poll();
+            for (int e = graph.firstEdge(f), end = graph.endEdge(f); e < end; e++) {
+                int w = graph.neighbour(e);
+                int weightThroughF = dist[f] + graph.weight(e);
+                if (dist[w] == UNREACHED) {
+                    setDist(w, weightThroughF);
+                    buckets.add(w, weightThroughF);
+                } else if (weightThroughF < dist[w]) {
+                    dist[w] = weightThroughF;
+                    buckets.decreasePriority(w, weightThroughF);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the distances from source using Dijkstra's algorithm with a binary heap.
+     */
+    private void dijkstra(int source) {
+        if (heap == null) {
+            heap = new IntMinHeap(graph.size());
+        }
+        heap.add(source, 0);
+        /// invariant: as in lecture notes
+        while (!heap.isEmpty()) {
+            int f = heap.poll();
+            for (int e = graph.firstEdge(f), end = graph.endEdge(f); e < end; e++) {
+                int w = graph.neighbour(e);
+                int weightThroughF = dist[f] + graph.weight(e);
+                if (dist[w] == UNREACHED) {
+                    setDist(w, weightThroughF);
+                    heap.add(w, weightThroughF);
+                } else if (weightThroughF < dist[w]) {
+                    dist[w] = weightThroughF;
+                    heap.decreasePriority(w, weightThroughF);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the distance of a node not yet reached in the current query.
+     */
+    private void setDist(int v, int d) {
+        dist[v] = d;
+        touched[touchedCount++] = v;
+    }
+
+    /**
+     * Forget the results of the previous query, touching only the nodes it reached.
+     */
+    private void reset() {
+        if (heap != null) {
+            heap.clear();
+        }
+        if (buckets != null) {
+            buckets.clear();
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            dist[touched[i]] = UNREACHED;
+        }
+        touchedCount = 0;
+    }
+}
@@ -0,0 +1,197 @@
+package game;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the edges of a dug cavern, as a {@code CsrGraph}, in horizontal stripes of STRIPE_ROWS rows,
+ * in parallel for large caverns.
+ * <p>
+ * The passages are first weighed into a flat array with one slot per cell and direction: the stripe of a
+ * cell weighs the passages to its east and south neighbours and writes their lengths into the slots of both
+ * ends, and counts the passages of the cell. Every slot has a single writer, so stripes need no locking.
+ * Once the counts are summed into the CSR offsets, each stripe copies the slots of its nodes into their
+ * ranges of the CSR arrays. The nodes are given no Edge objects: each creates its own from the CSR graph
+ * when its edges are first asked for.
+ * <p>
+ * Each stripe draws its weights from its own SplittableRandom, split in stripe order from SplittableRandom(seed).
+ * The stripes depend only on the size of the grid, so the edges are the same for a given seed whether
+ * the stripes run in parallel or not, and whatever the number of cores.
+ */
+final class StripedEdgeBuilder {
+    /**
+     * The number of rows in a stripe
+     */
+    static final int STRIPE_ROWS = 32;
+    /**
+     * The smallest number of cells for which stripes are built in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final Cavern.Direction[] DIRECTIONS = Cavern.Direction.values();
+
+    private final Node[][] tiles;
+    private final int rows;
+    private final int cols;
+    private final int maxWeight;
+    /**
+     * weights[(r * cols + c) * Direction.COUNT + d.ordinal()] is the length of the passage leaving (r, c)
+     * in direction d, or 0 if there is none
+     */
+    private final int[] weights;
+    private final SplittableRandom[] stripeRands;
+    /**
+     * The arrays of the CsrGraph being built, laid out as described in {@code CsrGraph}
+     */
+    private final int[] offsets;
+    private int[] neighbours;
+    private int[] edgeWeights;
+    private final Node[] nodes;
+    private final int[] gridIndex;
+
+    /**
+     * Constructor: a builder for the grid of nodes tiles, with edge lengths drawn uniformly from
+     * 1..maxWeight using seed.
+     */
+    private StripedEdgeBuilder(Node[][] tiles, int maxWeight, long seed) {
+        this.tiles = tiles;
+        rows = tiles.length;
+        cols = tiles[0].length;
+        this.maxWeight = maxWeight;
+        weights = new int[rows * cols * Cavern.Direction.COUNT];
+        stripeRands = new SplittableRandom[(rows + STRIPE_ROWS - 1) / STRIPE_ROWS];
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int s = 0; s < stripeRands.length; s++) {
+            stripeRands[s] = root.split();
+        }
+
+        int open = 0;
+        for (Node[] row : tiles) {
+            for (Node node : row) {
+                if (node.getTile().getType() != Tile.Type.WALL) {
+                    open++;
+                }
+            }
+        }
+        offsets = new int[open + 1];
+        nodes = new Node[open];
+        gridIndex = new int[rows * cols];
+    }
+
+    /**
+     * Return the graph of the grid of nodes, tiles, with edges between adjacent non-wall tiles whose
+     * lengths are drawn uniformly from 1..maxWeight using seed. Give each non-wall node its edges,
+     * to be created from the returned graph on first access.
+     * Precondition: all elements of {@code tiles} are non-null, the grid of nodes has no edges, and the
+     * ids of the non-wall nodes are 0..n-1, where n is their number.
+     */
+    static CsrGraph build(Node[][] tiles, int maxWeight, long seed) {
+        StripedEdgeBuilder builder = new StripedEdgeBuilder(tiles, maxWeight, seed);
+        builder.stripes().forEach(builder::weighStripe);
+        builder.sumOffsets();
+        builder.stripes().forEach(builder::fillStripe);
+
+        CsrGraph csr = new CsrGraph(builder.offsets, builder.neighbours, builder.edgeWeights, builder.nodes,
+            builder.gridIndex, builder.cols);
+        for (Node node : builder.nodes) {
+            node.addEdgesLazily(csr);
+        }
+        return csr;
+    }
+
+    /**
+     * Return the stripe numbers, as a parallel stream if the grid is large enough.
+     */
+    private IntStream stripes() {
+        IntStream stripes = IntStream.range(0, stripeRands.length);
+        return rows * cols >= PARALLEL_THRESHOLD ? stripes.parallel() : stripes;
+    }
+
+    /**
+     * Weigh the passages from the cells of stripe s to their south and east neighbours, index the nodes
+     * of the stripe, and store the number of passages of node v in offsets[v + 1].
+     */
+    private void weighStripe(int s) {
+        SplittableRandom rand = stripeRands[s];
+        int end = Math.min(rows, (s + 1) * STRIPE_ROWS);
+        for (int r = s * STRIPE_ROWS; r < end; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (isWall(r, c)) {
+                    gridIndex[r * cols + c] = -1;
+                    continue;
+                }
+                int v = Math.toIntExact(tiles[r][c].getId());
+                nodes[v] = tiles[r][c];
+                gridIndex[r * cols + c] = v;
+                for (Cavern.Direction dir : DIRECTIONS) {
+                    int r1 = r + dir.getRowDelta();
+                    int c1 = c + dir.getColumnDelta();
+                    if (r1 >= 0 && r1 < rows && c1 >= 0 && c1 < cols && !isWall(r1, c1)) {
+                        offsets[v + 1]++;
+                    }
+                }
+                if (r + 1 < rows && !isWall(r + 1, c)) {
+                    int weight = maxWeight == 1 ? 1 : rand.nextInt(maxWeight) + 1;
+                    weights[slot(r, c, Cavern.Direction.SOUTH)] = weight;
+                    weights[slot(r + 1, c, Cavern.Direction.NORTH)] = weight;
+                }
+                if (c + 1 < cols && !isWall(r, c + 1)) {
+                    int weight = maxWeight == 1 ? 1 : rand.nextInt(maxWeight) + 1;
+                    weights[slot(r, c, Cavern.Direction.EAST)] = weight;
+                    weights[slot(r, c + 1, Cavern.Direction.WEST)] = weight;
+                }
+            }
+        }
+    }
+
+    /**
+     * Turn the numbers of passages in offsets into the CSR offsets, and allocate the CSR edge arrays.
+     * Precondition: all stripes are weighed.
+     */
+    private void sumOffsets() {
+        for (int v = 0; v < nodes.length; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        neighbours = new int[offsets[nodes.length]];
+        edgeWeights = new int[offsets[nodes.length]];
+    }
+
+    /**
+     * Copy the weighed passages of each node of stripe s, in the order of the directions, into the range
+     * of the node in the CSR arrays.
+     * Precondition: sumOffsets() has been called.
+     */
+    private void fillStripe(int s) {
+        int end = Math.min(rows, (s + 1) * STRIPE_ROWS);
+        for (int r = s * STRIPE_ROWS; r < end; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = gridIndex[r * cols + c];
+                if (v < 0) {
+                    continue;
+                }
+                int e = offsets[v];
+                for (Cavern.Direction dir : DIRECTIONS) {
+                    int weight = weights[slot(r, c, dir)];
+                    if (weight > 0) {
+                        neighbours[e] = gridIndex[(r + dir.getRowDelta()) * cols + c + dir.getColumnDelta()];
+                        edgeWeights[e] = weight;
+                        e++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the position in weights of the passage leaving (r, c) in direction dir.
+     */
+    private int slot(int r, int c, Cavern.Direction dir) {
+        return (r * cols + c) * Cavern.Direction.COUNT + dir.ordinal();
+    }
+
+    /**
+     * Return true if the tile at (r, c) is a wall, which no passage enters or leaves.
+     */
+    private boolean isWall(int r, int c) {
+        return tiles[r][c].getTile().getType() == Tile.Type.WALL;
+    }
+}
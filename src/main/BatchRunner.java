@@ -0,0 +1,97 @@
+package main;
+
+import game.Cavern;
+import game.GameResult;
+import game.GameState;
+import student.Explorer;
+import student.explore.ExploreStrategy;
+
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs many headless games concurrently with a GameExecutor, at most workers games at a time.
+ * The output of each game is captured and printed in seed order once the batch is over,
+ * so the output of a batch is the same whatever the number of workers.
+ */
+class BatchRunner {
+    private final int workers;
+    private final PrintStream out;
+    private final Cavern.Generation generation;
+    private final ExploreStrategy exploreStrategy;
+
+    /**
+     * Constructor: a runner running at most workers games at a time, whose caverns are dug
+     * as described by generation and explored with exploreStrategy, printing to out.
+     */
+    BatchRunner(int workers, Cavern.Generation generation, ExploreStrategy exploreStrategy, PrintStream out) {
+        this.workers = Math.max(workers, 1);
+        this.generation = generation;
+        this.exploreStrategy = exploreStrategy;
+        this.out = out;
+    }
+
+    /**
+     * Run one game for each seed, print the output of every game in the order of seeds,
+     * followed by statistics about the scores.
+     *
+     * @param seeds the seeds of the games
+     * @return the results of the games, in the order of seeds
+     */
+    List<GameResult> run(long[] seeds) throws InterruptedException {
+        GameResult[] results = new GameResult[seeds.length];
+        try (GameExecutor executor = new GameExecutor(workers,
+                seed -> GameState.runHeadlessGame(seed, generation, new Explorer(exploreStrategy)))) {
+            executor.runAll(seeds, (index, result) -> results[index] = result);
+        }
+        for (GameResult result : results) {
+            out.print(result.output());
+            out.println();
+        }
+        List<GameResult> resultList = Arrays.asList(results);
+        printStatistics(resultList);
+        return resultList;
+    }
+
+    /**
+     * Print the mean, standard deviation, minimum, median and maximum of the scores of results,
+     * and the number of games whose explore or escape phase failed.
+     */
+    private void printStatistics(List<GameResult> results) {
+        int n = results.size();
+        if (n == 0) {
+            return;
+        }
+        int[] scores = new int[n];
+        int exploreFailures = 0;
+        int escapeFailures = 0;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            GameResult r = results.get(i);
+            scores[i] = r.score();
+            sum += r.score();
+            if (!r.exploreSucceeded()) exploreFailures++;
+            if (!r.escapeSucceeded()) escapeFailures++;
+        }
+        double mean = sum / n;
+        double squares = 0;
+        for (int score : scores) {
+            squares += (score - mean) * (score - mean);
+        }
+        double stdDev = n > 1 ? Math.sqrt(squares / (n - 1)) : 0;
+        Arrays.sort(scores);
+        double median = n % 2 == 1 ? scores[n / 2] : (scores[n / 2 - 1] + scores[n / 2]) / 2.0;
+
+        DecimalFormat df = new DecimalFormat("#.##");
+        out.println("Games            : " + n);
+        out.println("Average score    : " + df.format(mean));
+        out.println("Std deviation    : " + df.format(stdDev));
+        out.println("Min score        : " + scores[0]);
+        out.println("Median score     : " + df.format(median));
+        out.println("Max score        : " + scores[n - 1]);
+        out.println("Explore failures : " + exploreFailures);
+        out.println("Escape failures  : " + escapeFailures);
+    }
+}
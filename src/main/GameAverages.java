@@ -0,0 +1,36 @@
+package main;
+
+import game.GameResult;
+
+/**
+ * The averages over a set of headless games printed by the benchmarks.
+ *
+ * @param exploreSteps the average number of steps taken during the explore phase
+ * @param stepsToMin   the average ratio of explore steps to the shortest path from the entrance to the orb
+ * @param bonusFactor  the average bonus multiplier earned during the explore phase
+ * @param score        the average final score
+ * @param failed       the number of games whose explore phase did not end on the orb
+ */
+record GameAverages(double exploreSteps, double stepsToMin, double bonusFactor, double score, int failed) {
+
+    /**
+     * Return the averages of results.
+     * Precondition: results is not empty.
+     */
+    static GameAverages of(GameResult[] results) {
+        double steps = 0;
+        double ratio = 0;
+        double bonus = 0;
+        double score = 0;
+        int failed = 0;
+        for (GameResult r : results) {
+            steps += r.exploreSteps();
+            ratio += r.exploreSteps() / (double) r.minExploreSteps();
+            bonus += r.bonusFactor();
+            score += r.score();
+            if (!r.exploreSucceeded()) failed++;
+        }
+        int n = results.length;
+        return new GameAverages(steps / n, ratio / n, bonus / n, score / n, failed);
+    }
+}
@@ -0,0 +1,97 @@
+package main;
+
+import game.GameResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * A GameExecutor runs headless games, each on its own virtual thread, so that tens of thousands
+ * of games can be submitted at once. A semaphore bounds the number of games in flight: the submitting
+ * thread blocks until a running game finishes, so neither threads nor games pile up in memory.
+ * Every game builds its caverns from its own Random(seed), so games do not interfere with each other.
+ * <p>
+ * Results are handed to a ResultSink as games finish, one at a time, so a sink need not be thread-safe.
+ * Calls are serialized with a ReentrantLock rather than synchronized, which would pin the carrier thread.
+ */
+class GameExecutor implements AutoCloseable {
+    /**
+     * Receives the result of each game as it finishes.
+     */
+    @FunctionalInterface
+    interface ResultSink {
+        /**
+         * Accept the result of the game whose seed was at position index of the submitted seeds.
+         *
+         * @param index  the position of the game's seed
+         * @param result the result of the game
+         */
+        void accept(int index, GameResult result);
+    }
+
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final LongFunction<GameResult> game;
+    private final ReentrantLock sinkLock = new ReentrantLock();
+
+    /**
+     * Constructor: an executor running at most maxInFlight games at a time,
+     * each played by calling game with its seed.
+     */
+    GameExecutor(int maxInFlight, LongFunction<GameResult> game) {
+        permits = new Semaphore(Math.max(maxInFlight, 1));
+        this.game = game;
+    }
+
+    /**
+     * Run one game for each seed and hand each result to sink, in the order the games finish.
+     * Return once every game has finished.
+     * Throw an IllegalStateException if a game failed outside the explorer's code, which the game
+     * itself reports in its output.
+     *
+     * @param seeds the seeds of the games
+     * @param sink  the receiver of the results
+     */
+    void runAll(long[] seeds, ResultSink sink) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(seeds.length);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < seeds.length; i++) {
+            permits.acquire();
+            int index = i;
+            long seed = seeds[i];
+            threads.execute(() -> {
+                try {
+                    GameResult result = game.apply(seed);
+                    sinkLock.lock();
+                    try {
+                        sink.accept(index, result);
+                    } finally {
+                        sinkLock.unlock();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    permits.release();
+                    finished.countDown();
+                }
+            });
+        }
+        finished.await();
+        if (failure.get() != null) {
+            throw new IllegalStateException("A game failed outside the explorer's code", failure.get());
+        }
+    }
+
+    /**
+     * Wait for the running games to finish and release the executor's threads.
+     */
+    @Override
+    public void close() {
+        threads.close();
+    }
+}
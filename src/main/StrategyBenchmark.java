@@ -0,0 +1,127 @@
+package main;
+
+import game.Cavern;
+import game.ExplorationState;
+import game.GameResult;
+import game.GameState;
+import student.Explorer;
+import student.explore.ExploreStrategies;
+import student.explore.ExploreStrategy;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Compares the ExploreStrategies over a sweep of seeds: every strategy plays the same headless games, and the
+ * average number of explore steps, the average ratio of steps to the shortest path, the average score, and the
+ * average wall time and heap allocation of the explore phase are printed for each.
+ * <p>
+ * Time and allocation are those of the calls to ExploreStrategy.explore, the game's own bookkeeping for each
+ * move included, measured on the calling thread; allocation is read from com.sun.management.ThreadMXBean,
+ * and printed as n/a on JVMs that do not support it. The games are therefore run one at a time, on the main
+ * thread, after a few warm-up games per strategy so that the measured ones run compiled code.
+ * <p>
+ * Options: -n games (default 500), -s seed of the sweep (default 0), -w warm-up games per strategy
+ * (default 50), -c to dig caverns constructively, -e name to run only the strategy of that name.
+ */
+public class StrategyBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * An ExploreStrategy accumulating the wall time and allocation of the strategy it delegates to
+     */
+    private static class MeasuredStrategy implements ExploreStrategy {
+        private final ExploreStrategy strategy;
+        private long nanos;
+        private long bytes;
+
+        MeasuredStrategy(ExploreStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public void explore(ExplorationState state) {
+            long startBytes = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            try {
+                strategy.explore(state);
+            } finally {
+                nanos += System.nanoTime() - start;
+                bytes += THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        int games = Utilities.parseIntArgs("-n", 1, 500, args);
+        int warmUpGames = Utilities.parseIntArgs("-w", 0, 50, args);
+        Optional<Long> seed = Utilities.parseSeedArgs(args);
+        Cavern.Generation generation = argList.contains("-c") ? Cavern.Generation.CONSTRUCTIVE : Cavern.Generation.CLASSIC;
+        List<String> names = Utilities.parseStrategyArgs(args)
+            .map(List::of)
+            .orElseGet(() -> List.copyOf(ExploreStrategies.names()));
+
+        Random seeds = new Random(seed.orElse(0L));
+        long[] gameSeeds = new long[games];
+        for (int i = 0; i < games; i++) {
+            gameSeeds[i] = seeds.nextLong();
+        }
+        long[] warmUpSeeds = new long[warmUpGames];
+        for (int i = 0; i < warmUpGames; i++) {
+            warmUpSeeds[i] = seeds.nextLong();
+        }
+
+        boolean measuresAllocation = THREADS.isThreadAllocatedMemorySupported();
+        if (measuresAllocation) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        for (String name : names) {
+            play(warmUpSeeds, generation, new MeasuredStrategy(ExploreStrategies.named(name)));
+        }
+
+        PrintStream out = System.out;
+        out.printf(Locale.ROOT, "%-10s %10s %10s %10s %8s %12s %12s%n",
+            "Strategy", "Avg steps", "Steps/min", "Score", "Failed", "Time (us)", "Alloc (KB)");
+        for (String name : names) {
+            var strategy = new MeasuredStrategy(ExploreStrategies.named(name));
+            GameResult[] results = play(gameSeeds, generation, strategy);
+            printRow(out, name, results, strategy, measuresAllocation);
+        }
+    }
+
+    /**
+     * Play one game for each seed with strategy, and return the results in the order of seeds.
+     */
+    private static GameResult[] play(long[] seeds, Cavern.Generation generation, ExploreStrategy strategy) {
+        var explorer = new Explorer(strategy);
+        GameResult[] results = new GameResult[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            results[i] = GameState.runHeadlessGame(seeds[i], generation, explorer);
+        }
+        return results;
+    }
+
+    /**
+     * Print the averages of results and of the measurements of strategy on one line, labelled name.
+     */
+    private static void printRow(PrintStream out, String name, GameResult[] results, MeasuredStrategy strategy,
+                                 boolean measuresAllocation) {
+        GameAverages averages = GameAverages.of(results);
+        int n = results.length;
+        String alloc = measuresAllocation
+            ? String.format(Locale.ROOT, "%12.1f", strategy.bytes / 1024.0 / n)
+            : String.format(Locale.ROOT, "%12s", "n/a");
+        out.printf(Locale.ROOT, "%-10s %10.1f %10.3f %10.1f %8d %12.1f %s%n",
+            name, averages.exploreSteps(), averages.stepsToMin(), averages.score(), averages.failed(),
+            strategy.nanos / 1000.0 / n, alloc);
+    }
+}
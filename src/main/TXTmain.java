@@ -1,18 +1,29 @@
 package main;
 
+import game.Cavern;
 import game.GameState;
+import student.Explorer;
+import student.explore.ExploreStrategies;
+import student.explore.ExploreStrategy;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 /**
  * Runs the program via the text (console) interface.
+ * With -p [workers], the games are run concurrently by a BatchRunner on virtual threads, at most
+ * workers games at a time (by default, the number of available processors). A batch with seed -s s runs
+ * the games whose seeds are drawn from Random(s), so the whole batch can be reproduced.
+ * With -c, caverns are dug constructively (see {@code Cavern.Generation}) rather than by rejection.
+ * With -e name, the orb is found by the ExploreStrategy registered under name in ExploreStrategies
+ * rather than the default one.
  */
 public class TXTmain {
-    public static void main(String[] args) throws IOException {
+    public static void main(String[] args) throws IOException, InterruptedException {
         List<String> argList = new ArrayList<>(Arrays.asList(args));
         int repeatNumberIndex = argList.indexOf("-n");
         int numTimesToRun = 1;
@@ -24,11 +35,34 @@ public class TXTmain {
             }
         }
         Optional<Long> seed = Utilities.parseSeedArgs(args);
+        Cavern.Generation generation = argList.contains("-c") ? Cavern.Generation.CONSTRUCTIVE : Cavern.Generation.CLASSIC;
+        ExploreStrategy exploreStrategy = ExploreStrategies.named(
+            Utilities.parseStrategyArgs(args).orElse(ExploreStrategies.DEFAULT));
+
+        int parallelIndex = argList.indexOf("-p");
+        if (parallelIndex >= 0) {
+            int workers = Runtime.getRuntime().availableProcessors();
+            if (parallelIndex + 1 < argList.size() && !argList.get(parallelIndex + 1).startsWith("-")) {
+                try {
+                    workers = Math.max(Integer.parseInt(argList.get(parallelIndex + 1)), 1);
+                } catch (NumberFormatException e) {
+                    System.err.println("Couldn't parse argument for -p option");
+                }
+            }
+            Random seeds = seed.isPresent() ? new Random(seed.get()) : new Random();
+            long[] gameSeeds = new long[numTimesToRun];
+            for (int i = 0; i < numTimesToRun; i++) {
+                gameSeeds[i] = seeds.nextLong();
+            }
+            new BatchRunner(workers, generation, exploreStrategy, System.out).run(gameSeeds);
+            return;
+        }
 
         int totalScore = 0;
 
         for (int i = 0; i < numTimesToRun; i++) {
-            totalScore += GameState.runNewGame((seed.isPresent() ? seed.get() : 0), false);
+            totalScore += GameState.runNewGame((seed.isPresent() ? seed.get() : 0), false, generation,
+                new Explorer(exploreStrategy));
             System.out.println();
         }
 
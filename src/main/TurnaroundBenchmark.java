@@ -0,0 +1,70 @@
+package main;
+
+import game.Cavern;
+import game.GameResult;
+import game.GameState;
+import student.Explorer;
+import student.explore.TurnaroundPolicy;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Compares TurnaroundPolicies over a sweep of seeds: every policy plays the same headless games,
+ * and the average number of explore steps, the average ratio of steps to the shortest path,
+ * the average bonus multiplier and the average score are printed for each.
+ * <p>
+ * Options: -n games (default 500), -s seed of the sweep (default 0), -p workers (default the number
+ * of available processors), -c to dig caverns constructively.
+ */
+public class TurnaroundBenchmark {
+    private static final int[] FIXED_THRESHOLDS = {0, 1, 2, 3, 4, 6, 8, 12};
+
+    public static void main(String[] args) throws InterruptedException {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        int games = Utilities.parseIntArgs("-n", 1, 500, args);
+        int workers = Utilities.parseIntArgs("-p", 1, Runtime.getRuntime().availableProcessors(), args);
+        Optional<Long> seed = Utilities.parseSeedArgs(args);
+        Cavern.Generation generation = argList.contains("-c") ? Cavern.Generation.CONSTRUCTIVE : Cavern.Generation.CLASSIC;
+
+        Random seeds = new Random(seed.orElse(0L));
+        long[] gameSeeds = new long[games];
+        for (int i = 0; i < games; i++) {
+            gameSeeds[i] = seeds.nextLong();
+        }
+
+        Map<String, TurnaroundPolicy> policies = new LinkedHashMap<>();
+        for (int threshold : FIXED_THRESHOLDS) {
+            policies.put("fixed(" + threshold + ")", TurnaroundPolicy.fixed(threshold));
+        }
+        policies.put("adaptive", TurnaroundPolicy.adaptive());
+
+        PrintStream out = System.out;
+        out.printf(Locale.ROOT, "%-10s %10s %10s %8s %10s %8s%n",
+            "Policy", "Avg steps", "Steps/min", "Bonus", "Score", "Failed");
+        for (var policy : policies.entrySet()) {
+            GameResult[] results = new GameResult[games];
+            try (GameExecutor executor = new GameExecutor(workers,
+                    s -> GameState.runHeadlessGame(s, generation, new Explorer(policy.getValue())))) {
+                executor.runAll(gameSeeds, (index, result) -> results[index] = result);
+            }
+            printRow(out, policy.getKey(), results);
+        }
+    }
+
+    /**
+     * Print the averages of results on one line, labelled name.
+     */
+    private static void printRow(PrintStream out, String name, GameResult[] results) {
+        GameAverages averages = GameAverages.of(results);
+        out.printf(Locale.ROOT, "%-10s %10.1f %10.3f %8.3f %10.1f %8d%n", name, averages.exploreSteps(),
+            averages.stepsToMin(), averages.bonusFactor(), averages.score(), averages.failed());
+    }
+}
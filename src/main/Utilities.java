@@ -1,5 +1,7 @@
 package main;
 
+import student.explore.ExploreStrategies;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,4 +26,40 @@ public class Utilities {
         }
         return seed;
     }
+
+    /**
+     * Return the integer following option, or defaultValue if there is none.
+     * An integer smaller than minValue is raised to minValue.
+     */
+    static int parseIntArgs(String option, int minValue, int defaultValue, String... args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        int index = argList.indexOf(option);
+        if (index >= 0 && index + 1 < argList.size()) {
+            try {
+                return Math.max(Integer.parseInt(argList.get(index + 1)), minValue);
+            } catch (NumberFormatException e) {
+                System.err.println("Couldn't parse argument for " + option + " option");
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Return the name following the -e option, if it names a strategy of ExploreStrategies.
+     */
+    static Optional<String> parseStrategyArgs(String... args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        int strategyIndex = argList.indexOf("-e");
+        Optional<String> name = Optional.empty();
+        if (strategyIndex >= 0) {
+            if (strategyIndex + 1 >= argList.size()) {
+                System.err.println("Error, -e must be followed by a strategy");
+            } else if (!ExploreStrategies.names().contains(argList.get(strategyIndex + 1))) {
+                System.err.println("Error, -e must be followed by one of " + ExploreStrategies.names());
+            } else {
+                name = Optional.of(argList.get(strategyIndex + 1));
+            }
+        }
+        return name;
+    }
 }
@@ -3,9 +3,40 @@ package student;
 import game.EscapeState;
 import game.ExplorationState;
 import student.escape.EscapeAlgorithm;
-import student.explore.ExploreAlgorithm;
+import student.explore.ExploreStrategy;
+import student.explore.TurnaroundPolicy;
 
 public class Explorer {
+    /**
+     * Finds the orb during explore
+     */
+    private final ExploreStrategy exploreStrategy;
+
+    /**
+     * Constructor: an explorer with the default, greedy, ExploreStrategy and its default TurnaroundPolicy
+     */
+    public Explorer() {
+        this(ExploreStrategy.greedy());
+    }
+
+    /**
+     * Constructor: an explorer with the greedy ExploreStrategy, turning around as decided by turnaroundPolicy
+     *
+     * @param turnaroundPolicy decides when explore stops going forward and backtracks
+     */
+    public Explorer(TurnaroundPolicy turnaroundPolicy) {
+        this(ExploreStrategy.greedy(turnaroundPolicy));
+    }
+
+    /**
+     * Constructor: an explorer finding the orb with exploreStrategy
+     *
+     * @param exploreStrategy finds the orb during explore
+     */
+    public Explorer(ExploreStrategy exploreStrategy) {
+        this.exploreStrategy = exploreStrategy;
+    }
+
     /**
      * Explore the cavern, trying to find the orb in as few steps as possible.
      * Once you find the orb, you must return from the function in order to pick
@@ -37,7 +68,7 @@ public class Explorer {
      * @param state the information available at the current state
      */
     public void explore(ExplorationState state) {
-        new ExploreAlgorithm(state).explore();
+        exploreStrategy.explore(state);
     }
 
     /**
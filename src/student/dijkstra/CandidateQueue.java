@@ -0,0 +1,213 @@
+package student.dijkstra;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A CandidateQueue is the frontier of DijkstraAlgorithm: a min-heap of the nodes the algorithm has seen
+ * but to which it has not found the shortest path yet, supporting decrease-key.
+ * The best path to a queued node found so far is not stored as a list of nodes: the node's Candidate only
+ * points to the Candidate of its predecessor on the path and caches the cumulative weight and gold of the path.
+ * The heap therefore never recomputes path sums, and a relaxation never copies a path.
+ * Paths are built from the predecessor chain only when asked for with {@code Candidate.toPath()}.
+ * Paths are ordered by weight, with ties broken in favour of the richer path and then of the node queued first;
+ * the weight and gold are those of the DijkstraPath contract, as described in DijkstraNode.
+ *
+ * @param <NodeType> the type of the nodes in the queue
+ */
+class CandidateQueue<NodeType extends DijkstraNode<NodeType>> {
+    /**
+     * heap[0..size-1] is a min-heap of the queued candidates: the key of each candidate
+     * is not smaller than the key of its parent heap[(i-1)/2]
+     */
+    private final List<Candidate<NodeType>> heap = new ArrayList<>();
+
+    /**
+     * The queued candidates, by node id
+     */
+    private final Map<Long, Candidate<NodeType>> candidates = new HashMap<>();
+
+    /**
+     * The number of candidates ever queued, used to break ties in insertion order
+     */
+    private long queuedCount;
+
+    /**
+     * Return whether the queue is empty.
+     *
+     * @return whether the queue is empty
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Queue the node with a path through the given predecessor if the node is not queued yet,
+     * or switch the node to that path if it is better than the node's current path.
+     *
+     * @param node the node
+     * @param predecessor the candidate before the node on the path, null if the node starts the path
+     * @param weight the weight of the path
+     * @param gold the gold on the path
+     * @return whether the node was queued or its key lowered
+     */
+    public boolean offer(NodeType node, Candidate<NodeType> predecessor, int weight, int gold) {
+        Candidate<NodeType> candidate = candidates.get(node.getId());
+        if (candidate == null) {
+            candidate = new Candidate<>(node, predecessor, weight, gold, queuedCount++);
+            candidates.put(node.getId(), candidate);
+            candidate.index = heap.size();
+            heap.add(candidate);
+            bubbleUp(candidate.index);
+            return true;
+        }
+        if (weight < candidate.weight || (weight == candidate.weight && gold > candidate.gold)) {
+            candidate.predecessor = predecessor;
+            candidate.weight = weight;
+            candidate.gold = gold;
+            bubbleUp(candidate.index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove and return the candidate with the smallest key.
+     *
+     * @return the candidate
+     */
+    public Candidate<NodeType> poll() {
+        Candidate<NodeType> first = heap.get(0);
+        Candidate<NodeType> last = heap.remove(heap.size() - 1);
+        if (last != first) {
+            heap.set(0, last);
+            last.index = 0;
+            bubbleDown(0);
+        }
+        candidates.remove(first.node.getId());
+        return first;
+    }
+
+    /**
+     * Move heap[k] up until its parent is not greater than it.
+     */
+    private void bubbleUp(int k) {
+        Candidate<NodeType> val = heap.get(k);
+        int i = k;
+        while (i > 0) {
+            int parentIdx = (i - 1) / 2;
+            Candidate<NodeType> parent = heap.get(parentIdx);
+            if (!val.isSmallerThan(parent)) {
+                break;
+            }
+            heap.set(i, parent);
+            parent.index = i;
+            i = parentIdx;
+        }
+        heap.set(i, val);
+        val.index = i;
+    }
+
+    /**
+     * Move heap[k] down until none of its children is smaller than it.
+     */
+    private void bubbleDown(int k) {
+        Candidate<NodeType> val = heap.get(k);
+        int size = heap.size();
+        int i = k;
+        while (2 * i + 1 < size) {
+            int childIdx = 2 * i + 1;
+            if (childIdx + 1 < size && heap.get(childIdx + 1).isSmallerThan(heap.get(childIdx))) {
+                childIdx++;
+            }
+            Candidate<NodeType> child = heap.get(childIdx);
+            if (!child.isSmallerThan(val)) {
+                break;
+            }
+            heap.set(i, child);
+            child.index = i;
+            i = childIdx;
+        }
+        heap.set(i, val);
+        val.index = i;
+    }
+
+    /**
+     * A Candidate is a node together with the predecessor on the best path to it found so far and the cumulative
+     * weight and gold of that path. Once polled, a Candidate no longer changes.
+     *
+     * @param <NodeType> the type of the node
+     */
+    static class Candidate<NodeType extends DijkstraNode<NodeType>> {
+        private final NodeType node;
+        private final long order;
+        private Candidate<NodeType> predecessor;
+        private int weight;
+        private int gold;
+        private int index;
+
+        private Candidate(NodeType node, Candidate<NodeType> predecessor, int weight, int gold, long order) {
+            this.node = node;
+            this.predecessor = predecessor;
+            this.weight = weight;
+            this.gold = gold;
+            this.order = order;
+        }
+
+        /**
+         * Return the queued node.
+         *
+         * @return the node
+         */
+        NodeType getNode() {
+            return node;
+        }
+
+        /**
+         * Return the weight of the best path to the node found so far.
+         *
+         * @return the weight
+         */
+        int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Return the gold on the best path to the node found so far.
+         *
+         * @return the gold
+         */
+        int getGold() {
+            return gold;
+        }
+
+        /**
+         * Build the best path to the node found so far by following the predecessors back to the start.
+         *
+         * @return the path
+         */
+        DijkstraPath<NodeType> toPath() {
+            Deque<NodeType> nodes = new ArrayDeque<>();
+            for (Candidate<NodeType> c = this; c != null; c = c.predecessor) {
+                nodes.push(c.node);
+            }
+            DijkstraPath<NodeType> path = nodes.pop().wrapToPath();
+            nodes.forEach(path::addNode);
+            return path;
+        }
+
+        private boolean isSmallerThan(Candidate<NodeType> other) {
+            if (weight != other.weight) {
+                return weight < other.weight;
+            }
+            if (gold != other.gold) {
+                return gold > other.gold;
+            }
+            return order < other.order;
+        }
+    }
+}
@@ -25,14 +25,14 @@ public class DijkstraAlgorithm<NodeType extends DijkstraNode<NodeType>> {
     private final Set<NodeType> completeNodes;
 
     /**
-     * The nodes the algorithm has seen but to which it has not found the shortest path yet
+     * The nodes the algorithm has seen but to which it has not found the shortest path yet,
+     * ordered by the best path to them found so far
      */
-    private final Set<NodeType> candidateNodes;
+    private final CandidateQueue<NodeType> candidateNodes;
 
     /**
-     * A map containing a path to some nodes from the start node. Only target nodes are guaranteed to be included
-     * and to have the shortest path. To save time, we process the maze only as far as necessary, so other nodes may
-     * be missing or their path may not be the shortest path.
+     * A map containing the shortest path from the start node to each target node that has been reached.
+     * Paths are only built for target nodes; the search itself keeps only predecessor links.
      */
     private final Map<Long, DijkstraPath<NodeType>> pathMap;
 
@@ -45,7 +45,7 @@ public class DijkstraAlgorithm<NodeType extends DijkstraNode<NodeType>> {
         start = startNode;
         targetNodeIds = targetIds;
         completeNodes = new HashSet<>();
-        candidateNodes = new HashSet<>();
+        candidateNodes = new CandidateQueue<>();
         pathMap = new HashMap<>();
     }
 
@@ -61,63 +61,37 @@ public class DijkstraAlgorithm<NodeType extends DijkstraNode<NodeType>> {
     /**
      * Find the shortest paths from the starting node to the nodes specified in targetNodeIds.
      *
-     * @return a map containing (at least) the shortest path to each target node
+     * @return a map containing the shortest path to each target node
      */
     public Map<Long, DijkstraPath<NodeType>> findShortestPath() {
-        pathMap.put(start.getId(), start.wrapToPath());
+        // Candidate keys are running sums of the DijkstraPath contract (see DijkstraNode), starting from the
+        // path wrapping the start node, so that they equal getWeight() and getGold() of the paths returned
+        candidateNodes.offer(start, null, start.wrapToPath().getWeight(), start.getGold());
 
         // End as soon as we have all the shortest paths to the targets
         int targetCompleteCount = 0;
-        while (targetCompleteCount < targetNodeIds.size()) {
-            NodeType closestCandidate = getClosestCandidate();
-            DijkstraPath<NodeType> pathToClosest = pathMap.get(closestCandidate.getId());
-
-            // Build paths to all neighbours of the closest candidate, if not complete yet
-            closestCandidate.getNeighbours().stream()
-                    .filter(neighbour -> !completeNodes.contains(neighbour))
-                    .forEach(neighbour -> addOrUpdatePath(neighbour, pathToClosest));
-
+        while (targetCompleteCount < targetNodeIds.size() && !candidateNodes.isEmpty()) {
             // We have now found the shortest path to the closest candidate
-            candidateNodes.remove(closestCandidate);
+            CandidateQueue.Candidate<NodeType> closest = candidateNodes.poll();
+            NodeType closestCandidate = closest.getNode();
             completeNodes.add(closestCandidate);
 
+            // Extend the path to the closest candidate to all its neighbours, if not complete yet
+            for (NodeType neighbour : closestCandidate.getNeighbours()) {
+                if (!completeNodes.contains(neighbour)) {
+                    candidateNodes.offer(neighbour, closest,
+                            closest.getWeight() + closestCandidate.getWeightTo(neighbour),
+                            closest.getGold() + neighbour.getGold());
+                }
+            }
+
             // Check if we have found the shortest path for a target node
             if (targetNodeIds.contains(closestCandidate.getId())) {
+                pathMap.put(closestCandidate.getId(), closest.toPath());
                 targetCompleteCount++;
             }
         }
 
         return pathMap;
     }
-
-    /**
-     * Compare a node's current shortest path with an alternative path to the node.
-     * If the alternative path is better make that the new best path for the node.
-     * @param node the node
-     * @param pathToNeighbour path to a neighbour of the node, not including the node itself
-     */
-    private void addOrUpdatePath(NodeType node, DijkstraPath<NodeType> pathToNeighbour) {
-        DijkstraPath<NodeType> oldPathToNode = pathMap.get(node.getId());
-        DijkstraPath<NodeType> newPathToNode = pathToNeighbour.cloneWithNode(node);
-
-        // Save new path if it's better than the old one
-        if (oldPathToNode == null || newPathToNode.compareTo(oldPathToNode) < 0) {
-            pathMap.put(node.getId(), newPathToNode);
-        }
-
-        // Mark the node as having been seen
-        candidateNodes.add(node);
-    }
-
-    /**
-     * Find the node among the nodes the algorithm has seen which is the least expensive to get to from the start node.
-     * If no such node exists return the start node.
-     *
-     * @return the node closest to the start node
-     */
-    private NodeType getClosestCandidate() {
-        return candidateNodes.stream()
-                .min(Comparator.comparing((candidate -> pathMap.get(candidate.getId()))))
-                .orElse(start);
-    }
 }
@@ -5,6 +5,13 @@ import java.util.Set;
 /**
  * This interface specifies what methods a node must implement to allow a graph composed of these nodes
  * to be processed by DijkstraAlgorithm.
+ * <p>
+ * DijkstraAlgorithm does not compare DijkstraPaths while it searches. It keeps the weight and gold of the best
+ * path to each node as running sums of getWeightTo and getGold, and orders paths by weight, then by gold
+ * (richer first). This requires the paths of the node type to be additive: extending a path by a neighbour adds
+ * getWeightTo(neighbour) to its weight and neighbour.getGold() to its gold. The defaults derive both from the
+ * DijkstraPath of the node type, so they are always consistent with it; implementations may override them with
+ * a cheaper computation of the same values.
  *
  * @param <NodeType> a type implementing DijkstraNode
  */
@@ -29,4 +36,25 @@ public interface DijkstraNode<NodeType extends DijkstraNode<NodeType>> {
      * @return the path
      */
     DijkstraPath<NodeType> wrapToPath();
+
+    /**
+     * Return the weight of the edge from this node to the given neighbour: the weight a path ending at this node
+     * gains when it is extended to the neighbour. Defaults to that difference for the path wrapping this node.
+     *
+     * @param neighbour the neighbour
+     * @return the weight of the edge
+     */
+    default int getWeightTo(NodeType neighbour) {
+        DijkstraPath<NodeType> path = wrapToPath();
+        return path.cloneWithNode(neighbour).getWeight() - path.getWeight();
+    }
+
+    /**
+     * Return the gold a path collects by visiting this node. Defaults to the gold of the path wrapping this node.
+     *
+     * @return the gold on this node
+     */
+    default int getGold() {
+        return wrapToPath().getGold();
+    }
 }
@@ -58,6 +58,8 @@ public abstract class DijkstraPath<NodeType extends DijkstraNode<NodeType>> impl
     /**
      * Compare two DijkstraPaths.
      * Subclasses must decide how the "length" or "weight" of a path is understood.
+     * DijkstraAlgorithm does not call this method: it orders paths by getWeight, then by getGold (richer first),
+     * so the order defined here should agree with that.
      *
      * @param otherPath the path to compare to
      * @return 0 if the paths are equal,
@@ -96,14 +98,16 @@ public abstract class DijkstraPath<NodeType extends DijkstraNode<NodeType>> impl
     }
 
     /**
-     * Return the weight of the path. Subclasses decide what "weight" means for a concrete path.
+     * Return the weight of the path. Subclasses decide what "weight" means for a concrete path,
+     * but it must be additive over the edges of the path (see DijkstraNode).
      *
      * @return the weight of this path
      */
     public abstract Integer getWeight();
 
     /**
-     * Return the gold value of the path. Subclasses decide what "value" means for a concrete path.
+     * Return the gold value of the path. Subclasses decide what "value" means for a concrete path,
+     * but it must be additive over the nodes of a path that visits each node once (see DijkstraNode).
      *
      * @return the gold value of this path
      */
@@ -45,7 +45,7 @@ public class EscapeAlgorithm {
      */
     private EscapePath findShortestEscapePath() {
         long exitId = state.getExit().getId();
-        EscapeNode start = new EscapeNode(state.getCurrentNode());
+        EscapeNode start = new EscapeGraph().get(state.getCurrentNode());
         List<EscapeNode> escapeNodes = new DijkstraAlgorithm<>(start, exitId)
                 .findShortestPath()
                 .get(exitId)
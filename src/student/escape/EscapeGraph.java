@@ -0,0 +1,45 @@
+package student.escape;
+
+import game.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An EscapeGraph interns the EscapeNodes wrapping the game.Nodes of one cavern, so that each game.Node is wrapped
+ * by a single EscapeNode. EscapeNodes obtained from an EscapeGraph compute their neighbours once and share them,
+ * so repeated traversals of the cavern allocate no new wrappers.
+ */
+public class EscapeGraph {
+    /**
+     * The EscapeNodes created so far, by node id
+     */
+    private final Map<Long, EscapeNode> nodes = new HashMap<>();
+
+    /**
+     * Construct an empty EscapeGraph.
+     */
+    public EscapeGraph() {
+    }
+
+    /**
+     * Return the EscapeNode wrapping the given game.Node, creating it the first time it is asked for.
+     *
+     * @param node the game.Node
+     * @return the EscapeNode
+     */
+    public EscapeNode get(Node node) {
+        return nodes.computeIfAbsent(node.getId(), id -> new EscapeNode(node, this));
+    }
+
+    /**
+     * Return an EscapeNode wrapping the given game.Node, interned in a new EscapeGraph of its own together with
+     * the neighbours reached from it.
+     *
+     * @param node the game.Node
+     * @return the EscapeNode
+     */
+    public static EscapeNode wrap(Node node) {
+        return new EscapeGraph().get(node);
+    }
+}
@@ -7,9 +7,10 @@ import student.EqualsById;
 import student.dijkstra.DijkstraNode;
 import student.dijkstra.DijkstraPath;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * EscapeNode is a wrapper around game.Node, allowing us to implement the DijkstraNode interface,
@@ -24,12 +25,25 @@ public class EscapeNode extends EqualsById implements DijkstraNode<EscapeNode> {
     private final Node delegate;
 
     /**
-     * Construct an EscapeNode from a given game.Node.
+     * The EscapeGraph this node and its neighbours are interned in
+     */
+    private final EscapeGraph graph;
+
+    /**
+     * The neighbours of this node, computed on the first call to getNeighbours()
+     */
+    private Set<EscapeNode> neighbours;
+
+    /**
+     * Construct an EscapeNode from a given game.Node, interned in the given EscapeGraph.
+     * EscapeNodes are created only by EscapeGraph; use {@code EscapeGraph.get} or {@code EscapeGraph.wrap}.
      *
      * @param delegateNode the game.Node to wrap
+     * @param escapeGraph the graph
      */
-    public EscapeNode(Node delegateNode) {
+    EscapeNode(Node delegateNode, EscapeGraph escapeGraph) {
         delegate = delegateNode;
+        graph = escapeGraph;
     }
 
     @Override
@@ -37,9 +51,21 @@ public class EscapeNode extends EqualsById implements DijkstraNode<EscapeNode> {
         return delegate.getId();
     }
 
+    /**
+     * Return the neighbours of this node. The set is computed once and is unmodifiable.
+     *
+     * @return the neighbours
+     */
     @Override
     public Set<EscapeNode> getNeighbours() {
-        return delegate.getNeighbours().stream().map(EscapeNode::new).collect(Collectors.toSet());
+        if (neighbours == null) {
+            Set<EscapeNode> wrapped = new HashSet<>();
+            for (Node neighbour : delegate.getNeighbours()) {
+                wrapped.add(graph.get(neighbour));
+            }
+            neighbours = Collections.unmodifiableSet(wrapped);
+        }
+        return neighbours;
     }
 
     @Override
@@ -47,6 +73,16 @@ public class EscapeNode extends EqualsById implements DijkstraNode<EscapeNode> {
         return new EscapePath(this);
     }
 
+    @Override
+    public int getWeightTo(EscapeNode neighbour) {
+        return getEdge(neighbour.getId()).length();
+    }
+
+    @Override
+    public int getGold() {
+        return getTile().getGold();
+    }
+
     /**
      * Return the wrapped game.Node.
      *
@@ -72,11 +108,7 @@ public class EscapeNode extends EqualsById implements DijkstraNode<EscapeNode> {
      * @return the Edge
      */
     public Edge getEdge(Long otherNodeId) {
-        Node otherDelegate = delegate.getNeighbours().stream()
-                .filter(neighbour -> neighbour.getId() == otherNodeId)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("getEdge: Node must be a neighbour of this Node"));
-        return delegate.getEdge(otherDelegate);
+        return delegate.getEdge(otherNodeId.longValue());
     }
 
     /**
@@ -93,11 +125,10 @@ public class EscapeNode extends EqualsById implements DijkstraNode<EscapeNode> {
         while (i < nodeLoop.getSize()) {
             EscapeNode current = nodeLoop.getNode(i);
 
-            List<EscapeNode> neighbours = current.getNeighbours().stream()
-                    .filter(neighbour -> !visitedNodes.contains(neighbour.getId()))
-                    .toList();
-
-            for (EscapeNode neighbour : neighbours) {
+            for (EscapeNode neighbour : current.getNeighbours()) {
+                if (visitedNodes.contains(neighbour.getId())) {
+                    continue;
+                }
                 EscapePath pathToNeighbourAndBack = new EscapePath(List.of(current, neighbour, current));
                 if (budget - pathToNeighbourAndBack.getWeight() >= 0) {
                     nodeLoop.replaceAtIndex(pathToNeighbourAndBack.getNodes(), i);
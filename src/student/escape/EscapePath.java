@@ -10,8 +10,29 @@ import java.util.stream.IntStream;
  * An EscapePath is a DijkstraPath composed of EscapeNodes.
  * It extends DijkstraPath by including functionality that allows a path to be enhanced, i.e. redrawn
  * between source and destination to traverse more tiles with gold on them.
+ * <p>
+ * The weight and gold of an EscapePath are computed the first time they are asked for and then kept as running
+ * totals, updated by addNode, joinPath and replaceAtIndex, so asking for them again takes constant time.
+ * Enhancing a path carries the totals over from the paths it is rebuilt from, and trimming loops adjusts them
+ * by the nodes removed. setNodes discards the totals. The gold of a tile is counted as it was when the tile joined the path.
+ * Changes made directly to the list returned by getNodes() are not tracked.
  */
 public class EscapePath extends DijkstraPath<EscapeNode> {
+    /**
+     * The running total of the edge weights of this path, or null if it has not been computed
+     */
+    private Integer weight;
+
+    /**
+     * The running total of the gold on the distinct tiles of this path, or null if it has not been computed
+     */
+    private Integer gold;
+
+    /**
+     * The number of times each node of this path occurs on it, or null if gold has not been computed
+     */
+    private Map<EscapeNode, Integer> occurrences;
+
     public EscapePath() {
         super();
     }
@@ -49,7 +70,12 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
      */
     @Override
     public Integer getGold() {
-        return new HashSet<>(getNodes()).stream().mapToInt(node -> node.getTile().getGold()).sum();
+        if (gold == null) {
+            gold = 0;
+            occurrences = new HashMap<>();
+            getNodes().forEach(this::countOccurrence);
+        }
+        return gold;
     }
 
     /**
@@ -59,21 +85,92 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
      */
     @Override
     public Integer getWeight() {
-        int sum = 0;
-        for (int i = 1; i < getSize(); i++) {
-            long prevId = getNode(i - 1).getId();
-            sum += getNode(i).getEdge(prevId).length();
+        if (weight == null) {
+            int sum = 0;
+            for (int i = 1; i < getSize(); i++) {
+                sum += weightInto(i);
+            }
+            weight = sum;
         }
-        return sum;
+        return weight;
     }
 
     @Override
     public DijkstraPath<EscapeNode> cloneWithNode(EscapeNode node) {
         EscapePath pathCopy = new EscapePath(getNodes());
+        pathCopy.weight = weight;
+        pathCopy.gold = gold;
+        pathCopy.occurrences = occurrences == null ? null : new HashMap<>(occurrences);
         pathCopy.addNode(node);
         return pathCopy;
     }
 
+    @Override
+    public void addNode(EscapeNode node) {
+        super.addNode(node);
+        if (weight != null && getSize() > 1) {
+            weight += weightInto(getSize() - 1);
+        }
+        if (gold != null) {
+            countOccurrence(node);
+        }
+    }
+
+    @Override
+    public void setNodes(List<EscapeNode> nodes) {
+        super.setNodes(nodes);
+        weight = null;
+        gold = null;
+        occurrences = null;
+    }
+
+    /**
+     * Replace the nodes of this EscapePath with those of the given path, taking over its totals.
+     * The path must not be used afterwards.
+     *
+     * @param path the path whose nodes to take
+     */
+    private void adoptNodes(EscapePath path) {
+        super.setNodes(path.getNodes());
+        weight = path.weight;
+        gold = path.gold;
+        occurrences = path.occurrences;
+    }
+
+    /**
+     * Return the weight of the edge leading into the node at the given index of this EscapePath.
+     *
+     * @param index the index, at least 1
+     * @return the weight of the edge from the previous node
+     */
+    private int weightInto(int index) {
+        long prevId = getNode(index - 1).getId();
+        return getNode(index).getEdge(prevId).length();
+    }
+
+    /**
+     * Record one more occurrence of the given node on this EscapePath, adding its gold if it is new to the path.
+     *
+     * @param node the node
+     */
+    private void countOccurrence(EscapeNode node) {
+        if (occurrences.merge(node, 1, Integer::sum) == 1) {
+            gold += node.getTile().getGold();
+        }
+    }
+
+    /**
+     * Record one less occurrence of the given node on this EscapePath, removing its gold if it leaves the path.
+     *
+     * @param node the node
+     */
+    private void uncountOccurrence(EscapeNode node) {
+        if (occurrences.merge(node, -1, Integer::sum) == 0) {
+            occurrences.remove(node);
+            gold -= node.getTile().getGold();
+        }
+    }
+
     /**
      * Enhance and trim the path until the weight budget is spent or the path stops growing.
      *
@@ -121,11 +218,14 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
 
         if (getSize() == 1) {
             EscapePath enhancedPathForNode = getNode(0).extend(visitedNodes, maxWeight);
-            setNodes(enhancedPathForNode.getNodes());
+            adoptNodes(enhancedPathForNode);
             return;
         }
 
         EscapePath enhancedPath = new EscapePath();
+        // Start the running totals of the empty path, so that they are kept up as it is built
+        enhancedPath.getWeight();
+        enhancedPath.getGold();
 
         Stack<Integer> budgets = getBudgetsForNodes(maxWeight);
         int leftoverBudget = 0;
@@ -143,7 +243,7 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
             }
         }
         enhancedPath.addNode(getNode(getSize() - 1));
-        setNodes(enhancedPath.getNodes());
+        adoptNodes(enhancedPath);
     }
 
     /**
@@ -224,7 +324,7 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
      * @param path the path to join
      */
     private void joinPath(EscapePath path) {
-        getNodes().addAll(path.getNodes());
+        path.getNodes().forEach(this::addNode);
     }
 
     /**
@@ -244,15 +344,44 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
      * @param size the size of the loop
      */
     private void removeGoldlessLoopsOfSize(int size) {
-        List<Integer> indicesToRemove = findGoldlessLoopsOfSize(size);
+        BitSet indicesToRemove = new BitSet();
+        findGoldlessLoopsOfSize(size).forEach(indicesToRemove::set);
+        if (indicesToRemove.isEmpty()) {
+            return;
+        }
+
+        // Take out the edges into each run of removed nodes and into the node after it
+        for (int i = indicesToRemove.nextSetBit(0); i >= 0; i = indicesToRemove.nextSetBit(i + 1)) {
+            if (weight != null) {
+                weight -= weightInto(i + 1);
+                if (i > 0 && !indicesToRemove.get(i - 1)) {
+                    weight -= weightInto(i);
+                }
+            }
+            if (gold != null) {
+                uncountOccurrence(getNode(i));
+            }
+        }
+
         List<EscapeNode> trimmed = new ArrayList<>();
         for (int i = 0; i < getSize(); i++) {
-            if (!indicesToRemove.contains(i)) {
+            if (!indicesToRemove.get(i)) {
                 trimmed.add(getNode(i));
             }
         }
+        super.setNodes(trimmed);
 
-        setNodes(trimmed);
+        // Put back the edge into each node that followed a run of removed nodes
+        if (weight != null) {
+            int removedBefore = 0;
+            for (int i = indicesToRemove.nextSetBit(0); i >= 0; i = indicesToRemove.nextSetBit(i + 1)) {
+                removedBefore++;
+                int next = i + 1 - removedBefore;
+                if (!indicesToRemove.get(i + 1) && next > 0) {
+                    weight += weightInto(next);
+                }
+            }
+        }
     }
 
     /**
@@ -262,7 +391,24 @@ public class EscapePath extends DijkstraPath<EscapeNode> {
      * @param index the index of the node to replace
      */
     public void replaceAtIndex(List<EscapeNode> nodes, int index) {
-        getNodes().remove(index);
+        if (weight != null) {
+            if (index > 0) {
+                weight -= weightInto(index);
+            }
+            if (index + 1 < getSize()) {
+                weight -= weightInto(index + 1);
+            }
+        }
+        EscapeNode removed = getNodes().remove(index);
         getNodes().addAll(index, nodes);
+        if (weight != null) {
+            for (int i = Math.max(index, 1); i <= index + nodes.size() && i < getSize(); i++) {
+                weight += weightInto(i);
+            }
+        }
+        if (gold != null) {
+            nodes.forEach(this::countOccurrence);
+            uncountOccurrence(removed);
+        }
     }
 }
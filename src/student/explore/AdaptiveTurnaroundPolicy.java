@@ -0,0 +1,31 @@
+package student.explore;
+
+/**
+ * The default TurnaroundPolicy: the threshold scales with an estimate of the size of the cavern, taken as the
+ * length of the way from the entrance to the target.
+ * <p>
+ * The way is estimated from how winding the cavern has proved so far: while the closest unexplored node gained
+ * startDistance minus closestUnexploredDistance on the entrance, the explorer took steps steps, so the way is
+ * estimated at startDistance * steps / gained. The part of it beyond startDistance is the detour the cavern
+ * forces. In a small or open cavern it is short, so backtracks are short and the explorer turns around early;
+ * in a large, winding one backtracks are long, so the explorer keeps going forward for longer. The threshold
+ * grows by one for every STEPS_PER_THRESHOLD steps of estimated detour, up to MAX_THRESHOLD.
+ */
+public class AdaptiveTurnaroundPolicy implements TurnaroundPolicy {
+    /**
+     * The number of steps of estimated detour that raise the threshold by one
+     */
+    public static final int STEPS_PER_THRESHOLD = 16;
+    /**
+     * The largest threshold, however large the cavern is estimated to be
+     */
+    public static final int MAX_THRESHOLD = 8;
+
+    @Override
+    public int threshold(ExploreProgress progress) {
+        int gained = Math.max(progress.startDistance() - progress.closestUnexploredDistance(), 1);
+        long estimatedWay = (long) progress.startDistance() * progress.steps() / gained;
+        long detour = Math.max(estimatedWay - progress.startDistance(), 0);
+        return (int) Math.min(detour / STEPS_PER_THRESHOLD, MAX_THRESHOLD);
+    }
+}
@@ -4,26 +4,37 @@ import game.ExplorationState;
 
 public class ExploreAlgorithm {
 
-
-    // Potential to be cleverer
-    // use the distance to goal to estimate the size of the map
-    // Dynamically change the turn around threshold depending on size of map and distance to goal
-
-    private static final Integer TURNAROUND_THRESHOLD = 4;
-
     private final ExplorationState state;
     private final ExploreGraph g = new ExploreGraph();
 
+    /**
+     * Decides when to stop going forward and backtrack to the unexplored node closest to the target
+     */
+    private final TurnaroundPolicy turnaroundPolicy;
+    private final Progress progress = new Progress();
+
     public ExploreAlgorithm(ExplorationState state) {
+        this(state, TurnaroundPolicy.adaptive());
+    }
+
+    /**
+     * Construct an algorithm exploring state, turning around as decided by turnaroundPolicy
+     *
+     * @param state            the state to explore
+     * @param turnaroundPolicy decides when to backtrack
+     */
+    public ExploreAlgorithm(ExplorationState state, TurnaroundPolicy turnaroundPolicy) {
         this.state = state;
+        this.turnaroundPolicy = turnaroundPolicy;
     }
 
     public void explore() {
+        progress.startDistance = state.getDistanceToTarget();
         while (state.getDistanceToTarget() != 0) {
-            g.logNodeVisit(state.getCurrentLocation(), state.getDistanceToTarget(), state.getNeighbours());
-            if (keepExploring()) {
-                var nextMove = g.getUnexploredNeighbours(state.getCurrentLocation()).get(0).getId();
-                state.moveTo(nextMove);
+            g.logVisit(state);
+            var next = g.getBestUnexploredNeighbour(state.getCurrentLocation());
+            if (keepExploring(next)) {
+                moveTo(next.getId());
             } else {
                 moveToLastKnownGoodNode();
             }
@@ -34,23 +45,50 @@ public class ExploreAlgorithm {
         // Make sure to move to the unseen tile and log it
         var path = g.getPathToBestNode(state.getCurrentLocation());
         path.getNodes().stream().skip(1).forEach(node -> {
-            state.moveTo(node.getId());
-            g.logNodeVisit(state.getCurrentLocation(), state.getDistanceToTarget(), state.getNeighbours());
+            moveTo(node.getId());
+            g.logVisit(state);
         });
     }
 
-    private boolean keepExploring() {
-        // Return true if we should keep trying to find a path through the adjacent nodes to the current node
+    private void moveTo(long id) {
+        state.moveTo(id);
+        progress.steps++;
+    }
+
+    private boolean keepExploring(ExploreNode target) {
+        // Return true if we should keep trying to find a path through target, the best unexplored
+        // node adjacent to the current node (null if there is none)
 
-        var neighbours = g.getUnexploredNeighbours(state.getCurrentLocation());
-        if (neighbours.isEmpty()) {
+        if (target == null) {
             return false;
         }
 
-        var target = neighbours.get(0);
         var closest = g.getClosestUnexploredNodeToGoal();
-        return target.getDistanceToTarget() <= closest.getDistanceToTarget() + TURNAROUND_THRESHOLD;
+        progress.closestUnexploredDistance = closest.getDistanceToTarget();
+        return target.getDistanceToTarget() <= closest.getDistanceToTarget() + turnaroundPolicy.threshold(progress);
     }
-}
 
+    /**
+     * The progress of this algorithm, as seen by its TurnaroundPolicy
+     */
+    private class Progress implements ExploreProgress {
+        private int startDistance;
+        private int closestUnexploredDistance;
+        private int steps;
+
+        @Override
+        public int startDistance() {
+            return startDistance;
+        }
+
+        @Override
+        public int closestUnexploredDistance() {
+            return closestUnexploredDistance;
+        }
 
+        @Override
+        public int steps() {
+            return steps;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package student.explore;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * An ExploreFrontier holds the unvisited nodes of an ExploreNodeTable, by slot, in the order of
+ * ExploreNode.compareTo: there is one bucket per distance to the target, and each bucket is a min-heap
+ * of slots ordered by id. The best node is thus found in O(log n) and the nodes at a given distance
+ * without a search, at a cost of 4 bytes per node.
+ * <p>
+ * Nodes are not removed when they are visited: a visited node stays in its bucket until it reaches
+ * the top of the heap or its bucket is collected.
+ */
+class ExploreFrontier {
+    private final ExploreNodeTable table;
+
+    /**
+     * buckets[d][0..bucketSizes[d]-1] is a min-heap, ordered by id, of the slots of nodes at distance d:
+     * the id of each slot is not smaller than the id of its parent at (i-1)/2
+     */
+    private int[][] buckets = new int[0][];
+    private int[] bucketSizes = new int[0];
+
+    /**
+     * All buckets below lowest are empty
+     */
+    private int lowest;
+
+    /**
+     * Constructor: an empty frontier of nodes of table
+     */
+    ExploreFrontier(ExploreNodeTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Add the unvisited node in the given slot to the frontier.
+     * Throw an IllegalArgumentException if its distance to the target is negative.
+     *
+     * @param slot the slot of the node
+     */
+    void add(int slot) {
+        int distance = table.distance(slot);
+        if (distance < 0) {
+            throw new IllegalArgumentException("add: node " + table.id(slot) + " has a negative distance");
+        }
+        if (distance >= buckets.length) {
+            int length = Math.max(distance + 1, 2 * buckets.length);
+            int oldLength = buckets.length;
+            buckets = Arrays.copyOf(buckets, length);
+            bucketSizes = Arrays.copyOf(bucketSizes, length);
+            for (int d = oldLength; d < length; d++) {
+                buckets[d] = new int[0];
+            }
+        }
+        if (bucketSizes[distance] == buckets[distance].length) {
+            buckets[distance] = Arrays.copyOf(buckets[distance], Math.max(4, 2 * bucketSizes[distance]));
+        }
+        int[] heap = buckets[distance];
+        heap[bucketSizes[distance]] = slot;
+        bubbleUp(heap, bucketSizes[distance]++);
+        lowest = Math.min(lowest, distance);
+    }
+
+    /**
+     * Return the slot of the unvisited node that is closest to the target, ties broken by id,
+     * or NO_SLOT if every node has been visited. Drop the visited nodes ahead of it.
+     *
+     * @return the slot of the best node
+     */
+    int first() {
+        for (; lowest < buckets.length; lowest++) {
+            int[] heap = buckets[lowest];
+            while (bucketSizes[lowest] > 0) {
+                if (!table.isVisited(heap[0])) {
+                    return heap[0];
+                }
+                heap[0] = heap[--bucketSizes[lowest]];
+                bubbleDown(heap, bucketSizes[lowest], 0);
+            }
+        }
+        return ExploreNodeTable.NO_SLOT;
+    }
+
+    /**
+     * Drop the visited nodes at the given distance, and set the slots of the others in slots.
+     *
+     * @param distance the distance to the target
+     * @param slots    the set the slots are added to
+     */
+    void collect(int distance, BitSet slots) {
+        if (distance < 0 || distance >= buckets.length) {
+            return;
+        }
+        int[] heap = buckets[distance];
+        int kept = 0;
+        for (int i = 0; i < bucketSizes[distance]; i++) {
+            if (!table.isVisited(heap[i])) {
+                heap[kept++] = heap[i];
+                slots.set(heap[i]);
+            }
+        }
+        bucketSizes[distance] = kept;
+        for (int i = kept / 2 - 1; i >= 0; i--) {
+            bubbleDown(heap, kept, i);
+        }
+    }
+
+    /**
+     * Return the slots of the unvisited nodes in the order of ExploreNode.compareTo.
+     *
+     * @return the slots
+     */
+    int[] sortedSlots() {
+        var slots = new BitSet();
+        for (int d = lowest; d < buckets.length; d++) {
+            collect(d, slots);
+        }
+        return slots.stream().boxed()
+                .sorted(Comparator.comparingInt(table::distance).thenComparingLong(table::id))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Move heap[k] up until its parent is not greater than it.
+     */
+    private void bubbleUp(int[] heap, int k) {
+        int val = heap[k];
+        int i = k;
+        while (i > 0) {
+            int parentIdx = (i - 1) / 2;
+            if (table.id(heap[parentIdx]) <= table.id(val)) {
+                break;
+            }
+            heap[i] = heap[parentIdx];
+            i = parentIdx;
+        }
+        heap[i] = val;
+    }
+
+    /**
+     * Move heap[k] down until none of its children in heap[0..size-1] is smaller than it.
+     */
+    private void bubbleDown(int[] heap, int size, int k) {
+        int val = heap[k];
+        int i = k;
+        while (2 * i + 1 < size) {
+            int childIdx = 2 * i + 1;
+            if (childIdx + 1 < size && table.id(heap[childIdx + 1]) < table.id(heap[childIdx])) {
+                childIdx++;
+            }
+            if (table.id(heap[childIdx]) >= table.id(val)) {
+                break;
+            }
+            heap[i] = heap[childIdx];
+            i = childIdx;
+        }
+        heap[i] = val;
+    }
+}
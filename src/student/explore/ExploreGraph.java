@@ -1,16 +1,41 @@
 package student.explore;
 
+import game.ExplorationState;
 import game.NodeStatus;
-import student.dijkstra.DijkstraAlgorithm;
 import student.dijkstra.DijkstraPath;
 
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 
 public class ExploreGraph {
-    private final Map<Long, ExploreNode> nodeMap = new HashMap<>();
+    /**
+     * The nodes of the graph, stored as columns of primitive arrays and looked up by id
+     */
+    private final ExploreNodeTable nodes = new ExploreNodeTable();
+
+    /**
+     * The unvisited nodes of nodes, in the order of ExploreNode.compareTo (distance to target, then id),
+     * kept up to date as nodes are logged so that the best one is found in O(log n)
+     */
+    private final ExploreFrontier frontier = new ExploreFrontier(nodes);
+
+    /**
+     * The shortest paths from every node to the unvisited nodes getPathToBestNode last aimed for,
+     * repaired as the graph grows so that repeated backtracks do not search the graph again
+     */
+    private final FrontierPaths paths = new FrontierPaths(nodes);
+
+    /**
+     * Finds the unvisited node cheapest to aim for, for getPathToCheapestNode
+     */
+    private final FrontierSearch search = new FrontierSearch(nodes);
+
+    /**
+     * Buffers reused by logVisit for the neighbours of the current location, so that no visit allocates them
+     */
+    private final long[] neighbourIds = new long[ExplorationState.MAX_NEIGHBOURS];
+    private final int[] neighbourDistances = new int[ExplorationState.MAX_NEIGHBOURS];
 
     /**
      * Adds the current node and neighbor nodes to the graph map
@@ -20,43 +45,110 @@ public class ExploreGraph {
      * @param neighbours a list of Node status objects describing neighbours
      */
     public void logNodeVisit(long current, int distance, Collection<NodeStatus> neighbours) {
+        int parent = visitNode(current, distance);
+        logNeighbours(parent, neighbours);
+    }
+
+    /**
+     * Adds the current node and neighbor nodes to the graph map, like
+     * {@code logNodeVisit(long, int, Collection)}, reading the neighbours from arrays
+     * filled by {@code ExplorationState.getNeighbours(long[], int[])}.
+     *
+     * @param current            ID of the current node
+     * @param distance           distance of the current node to the target
+     * @param neighbourIds       neighbourIds[0..neighbourCount-1] are the IDs of the neighbours
+     * @param neighbourDistances neighbourDistances[i] is the distance of neighbour i to the target
+     * @param neighbourCount     the number of neighbours
+     */
+    public void logNodeVisit(long current, int distance, long[] neighbourIds, int[] neighbourDistances,
+                             int neighbourCount) {
+        int parent = visitNode(current, distance);
+        for (int i = 0; i < neighbourCount; i++) {
+            logNeighbour(parent, neighbourIds[i], neighbourDistances[i]);
+        }
+    }
+
+    /**
+     * Adds the current location of state and its neighbours to the graph map, like
+     * {@code logNodeVisit(long, int, Collection)}, without allocating.
+     *
+     * @param state the state whose current location is visited
+     */
+    public void logVisit(ExplorationState state) {
+        int neighbourCount = state.getNeighbours(neighbourIds, neighbourDistances);
+        logNodeVisit(state.getCurrentLocation(), state.getDistanceToTarget(),
+                neighbourIds, neighbourDistances, neighbourCount);
+    }
 
-        if (!nodeMap.containsKey(current)) {
+    /**
+     * Adds the current node to the graph map if it is new, and marks it as visited
+     *
+     * @param current  ID of the current node
+     * @param distance distance of the current node to the target
+     * @return the slot of the current node in nodes
+     */
+    private int visitNode(long current, int distance) {
+        int slot = nodes.slotOf(current);
+        if (slot == ExploreNodeTable.NO_SLOT) {
             // First time visiting a node
-            var currentNode = new ExploreNode(current, distance, true);
-            nodeMap.put(current, currentNode);
+            slot = nodes.add(current, distance, true);
         } else {
-            // visiting a node that is already present
-            var currentNode = nodeMap.get(current);
-            currentNode.visit();
+            // visiting a node that is already present; frontier drops it lazily
+            nodes.visit(slot);
         }
-
-        logNeighbours(current, neighbours);
+        return slot;
     }
 
     /**
      * Adds any neighbours that have not been visited to the graph map
      *
-     * @param current    ID of the current Node
+     * @param parent     slot of the current Node
      * @param neighbours List of Neighbours that need to be added to the current node
      */
-    private void logNeighbours(long current, Collection<NodeStatus> neighbours) {
-        var parent = nodeMap.get(current);
-
+    private void logNeighbours(int parent, Collection<NodeStatus> neighbours) {
         for (var neighbour : neighbours) {
-            // Only create new nodes if they have not been seen before
-            if (!nodeMap.containsKey(neighbour.nodeID())) {
-
-                var neighbourNode = new ExploreNode(neighbour.nodeID(), neighbour.distanceToTarget(), false);
-                // Add parent node
-                neighbourNode.addNeighbour(parent);
-                nodeMap.put(neighbour.nodeID(), neighbourNode);
-            }
-            // since the underlying data structure is a set we don't need to worry.
-            parent.addNeighbour(nodeMap.get(neighbour.nodeID()));
+            logNeighbour(parent, neighbour.nodeID(), neighbour.distanceToTarget());
+        }
+    }
+
+    /**
+     * Adds a neighbour of parent to the graph map if it has not been seen before
+     *
+     * @param parent   slot of the current node
+     * @param id       ID of the neighbour
+     * @param distance distance of the neighbour to the target
+     */
+    private void logNeighbour(int parent, long id, int distance) {
+        // Only create new nodes if they have not been seen before
+        int neighbour = nodes.slotOf(id);
+        if (neighbour == ExploreNodeTable.NO_SLOT) {
+            neighbour = nodes.add(id, distance, false);
+            frontier.add(neighbour);
+        }
+        // link ignores nodes that are already neighbours, so only new edges reach paths
+        if (nodes.link(parent, neighbour)) {
+            paths.addEdge(parent, neighbour);
         }
     }
 
+    /**
+     * Returns the node with the given ID, if it has been seen
+     *
+     * @param id ID of the node
+     * @return the node, or null if it has not been seen
+     */
+    public ExploreNode getNode(long id) {
+        int slot = nodes.slotOf(id);
+        return slot == ExploreNodeTable.NO_SLOT ? null : nodes.node(slot);
+    }
+
+    /**
+     * @return the number of nodes seen so far, visited or not
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
     /**
      * Returns a sorted list of unexplored nodes connected to current
      *
@@ -64,22 +156,30 @@ public class ExploreGraph {
      * @return List of sorted Explore nodes
      */
     public List<ExploreNode> getUnexploredNeighbours(long current) {
-
-        return nodeMap.get(current).getNeighbours().stream()
+        // The neighbours are kept sorted, so filtering them keeps them in order
+        return nodes.node(nodes.slotOf(current)).getNeighbours().stream()
                 .filter(Predicate.not(ExploreNode::getVisited))
-                .sorted()
                 .toList();
     }
 
+    /**
+     * Returns the first of {@code getUnexploredNeighbours(current)} without building the list
+     *
+     * @param current ID of the current Node
+     * @return the unexplored neighbour of current closest to the target, or null if there is none
+     */
+    public ExploreNode getBestUnexploredNeighbour(long current) {
+        int best = nodes.bestUnvisitedNeighbour(nodes.slotOf(current));
+        return best == ExploreNodeTable.NO_SLOT ? null : nodes.node(best);
+    }
+
     /**
      * @return a list of unvisited nodes in order of the distance to target
      */
     public List<ExploreNode> listUnVisitedNodesSorted() {
-        return nodeMap.entrySet()
-                .stream()
-                .filter(Predicate.not(entry -> entry.getValue().getVisited()))
-                .map(Map.Entry::getValue)
-                .sorted().toList();
+        return Arrays.stream(frontier.sortedSlots())
+                .mapToObj(nodes::node)
+                .toList();
     }
 
     /**
@@ -88,7 +188,11 @@ public class ExploreGraph {
      * @return Long
      */
     public ExploreNode getClosestUnexploredNodeToGoal() {
-        return listUnVisitedNodesSorted().get(0);
+        int closest = frontier.first();
+        if (closest == ExploreNodeTable.NO_SLOT) {
+            throw new NoSuchElementException("getClosestUnexploredNodeToGoal: every node has been visited");
+        }
+        return nodes.node(closest);
     }
 
     /**
@@ -105,27 +209,38 @@ public class ExploreGraph {
         // If all nodes are exhausted than switch to current function.
 
         int distanceThreshold = 1;
-        // Get sorted list of unseen nodes
-        var unVisitedNodes = listUnVisitedNodesSorted();
+        // Get the closest unseen node
+        int closest = frontier.first();
 
-        if (unVisitedNodes.isEmpty()) {
+        if (closest == ExploreNodeTable.NO_SLOT) {
             System.err.println("maze is un-solvable");
             return new ExplorePath();
         }
 
         // Select all nodes that have are withing range of n + threshold, where n is the lowest distance
-        var closestNodeDistance = unVisitedNodes.get(0).getDistanceToTarget() + distanceThreshold;
-        var nodeIdsWithinRange = unVisitedNodes.stream()
-                .filter(n -> n.getDistanceToTarget() <= closestNodeDistance)
-                .mapToLong(ExploreNode::getId)
-                .boxed().collect(Collectors.toSet());
-
-        // Calculate the shortest path to each node within range
-        var shortestPaths = new DijkstraAlgorithm<>(nodeMap.get(current), nodeIdsWithinRange).findShortestPath();
-        // Choose the node with the shortest path
-        return nodeIdsWithinRange.stream()
-                .map(shortestPaths::get)
-                .min(Comparator.comparing(path -> path))
-                .orElseGet(ExplorePath::new);
+        var closestNodeDistance = nodes.distance(closest);
+        var nodesWithinRange = new BitSet();
+        for (int d = closestNodeDistance; d <= closestNodeDistance + distanceThreshold; d++) {
+            frontier.collect(d, nodesWithinRange);
+        }
+
+        // Aim the shortest paths at the nodes within range, repairing them from the last backtrack,
+        // and follow the path to the nearest one
+        paths.setSources(nodesWithinRange);
+        var path = paths.pathFrom(nodes.slotOf(current));
+        return path != null ? path : new ExplorePath();
+    }
+
+    /**
+     * Returns a path to the unvisited node minimising the number of steps to reach it plus its distance to the
+     * target, going through visited nodes only. Unlike getPathToBestNode, this weighs the length of a detour
+     * against the progress it makes towards the target.
+     *
+     * @param current Current location of the player
+     * @return the path, starting at current, or an empty path if every node reachable from current has been visited
+     */
+    public DijkstraPath<ExploreNode> getPathToCheapestNode(long current) {
+        var path = search.pathFrom(nodes.slotOf(current));
+        return path != null ? path : new ExplorePath();
     }
 }
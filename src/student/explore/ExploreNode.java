@@ -4,29 +4,41 @@ import student.EqualsById;
 import student.dijkstra.DijkstraPath;
 import student.dijkstra.DijkstraNode;
 
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
+/**
+ * An ExploreNode is a view of the node in one slot of an ExploreGraph's ExploreNodeTable. It holds no state of
+ * its own, so views are created on demand and reflect the graph as it grows; the graph is changed only by
+ * logging visits.
+ */
 public class ExploreNode extends EqualsById implements DijkstraNode<ExploreNode>, Comparable<ExploreNode> {
-    private final long id;
-    private final Set<ExploreNode> neighbours = new HashSet<>();
-    private final int distanceToTarget;
-    private boolean visited;
-
-    public ExploreNode(long nodeId, int distance, boolean vis) {
-        id = nodeId;
-        distanceToTarget = distance;
-        visited = vis;
+    private final ExploreNodeTable table;
+    private final int slot;
+
+    /**
+     * Constructor: the node in the given slot of table
+     */
+    ExploreNode(ExploreNodeTable table, int slot) {
+        this.table = table;
+        this.slot = slot;
     }
 
     @Override
     public long getId() {
-        return id;
+        return table.id(slot);
     }
 
+    /**
+     * Return an unmodifiable view of the neighbours of this node, in the order of compareTo.
+     *
+     * @return the neighbours
+     */
     @Override
     public Set<ExploreNode> getNeighbours() {
-        return neighbours;
+        return new NeighbourSet();
     }
 
     @Override
@@ -50,14 +62,7 @@ public class ExploreNode extends EqualsById implements DijkstraNode<ExploreNode>
 
     @Override
     public String toString() {
-        return "[ExploreNode " + id + "] " + distanceToTarget + " from target";
-    }
-
-    /**
-     * Mark this ExploreNode as visited.
-     */
-    public void visit(){
-        visited = true;
+        return "[ExploreNode " + getId() + "] " + getDistanceToTarget() + " from target";
     }
 
     /**
@@ -66,16 +71,18 @@ public class ExploreNode extends EqualsById implements DijkstraNode<ExploreNode>
      * @return whether this node has been visited
      */
     public boolean getVisited(){
-        return visited;
+        return table.isVisited(slot);
     }
 
     /**
-     * Add an ExploreNode as a neighbour of this node.
+     * Return the unvisited neighbour of this node that is closest to the target, ties broken by id,
+     * or null if every neighbour has been visited.
      *
-     * @param neighbour the neighbour
+     * @return the best unvisited neighbour, or null
      */
-    public void addNeighbour(ExploreNode neighbour){
-        neighbours.add(neighbour);
+    public ExploreNode getBestUnvisitedNeighbour() {
+        int best = table.bestUnvisitedNeighbour(slot);
+        return best == ExploreNodeTable.NO_SLOT ? null : table.node(best);
     }
 
     /**
@@ -84,6 +91,36 @@ public class ExploreNode extends EqualsById implements DijkstraNode<ExploreNode>
      * @return the distance
      */
     public int getDistanceToTarget() {
-        return distanceToTarget;
+        return table.distance(slot);
+    }
+
+    /**
+     * The view of the neighbours of this node returned by getNeighbours.
+     */
+    private class NeighbourSet extends AbstractSet<ExploreNode> {
+        @Override
+        public Iterator<ExploreNode> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size();
+                }
+
+                @Override
+                public ExploreNode next() {
+                    if (next >= size()) {
+                        throw new NoSuchElementException();
+                    }
+                    return table.node(table.neighbour(slot, next++));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return table.neighbourCount(slot);
+        }
     }
 }
@@ -0,0 +1,267 @@
+package student.explore;
+
+import game.ExplorationState;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An ExploreNodeTable holds the nodes of an ExploreGraph as columns of primitive arrays. Nodes are numbered densely,
+ * in the order they are added; node i (its slot) has id ids[i] and distance to the target distances[i], is visited
+ * iff bit i of visited is set, and has the neighbours neighbours[i * MAX_NEIGHBOURS + j] for j < neighbourCounts[i],
+ * in the order of ExploreNode.compareTo. Ids are mapped to slots by an open-addressing hash table of primitive longs.
+ * A node therefore costs a few dozen bytes and no lookup boxes its id, so caverns with millions of tiles can be
+ * explored in a modest heap. Nodes are handed out as ExploreNode views of their slot, created on demand.
+ * Nodes cannot be removed.
+ */
+class ExploreNodeTable {
+    /**
+     * The most neighbours a node can have
+     */
+    static final int MAX_NEIGHBOURS = ExplorationState.MAX_NEIGHBOURS;
+
+    /**
+     * The slot of a node that is not in the table
+     */
+    static final int NO_SLOT = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] distances = new int[INITIAL_CAPACITY];
+    private final BitSet visited = new BitSet();
+    private int[] neighbours = new int[INITIAL_CAPACITY * MAX_NEIGHBOURS];
+    private byte[] neighbourCounts = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * The hash table from ids to slots, with linear probing: entry i is empty if slotsPlusOne[i] is 0,
+     * and otherwise maps keys[i] to slot slotsPlusOne[i] - 1. It is at most half full.
+     */
+    private long[] keys = new long[2 * INITIAL_CAPACITY];
+    private int[] slotsPlusOne = new int[2 * INITIAL_CAPACITY];
+
+    /**
+     * Return the slot of the node with the given id, or NO_SLOT if there is none.
+     *
+     * @param id the id of the node
+     * @return the slot of the node
+     */
+    int slotOf(long id) {
+        return slotsPlusOne[entryOf(id)] - 1;
+    }
+
+    /**
+     * Add a node without neighbours and return its slot.
+     * Precondition: there is no node with the given id.
+     *
+     * @param id        the id of the node
+     * @param distance  the distance of the node to the target
+     * @param isVisited whether the node has been visited
+     * @return the slot of the node
+     */
+    int add(long id, int distance, boolean isVisited) {
+        if (size == ids.length) {
+            int capacity = 2 * size;
+            ids = Arrays.copyOf(ids, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            neighbours = Arrays.copyOf(neighbours, capacity * MAX_NEIGHBOURS);
+            neighbourCounts = Arrays.copyOf(neighbourCounts, capacity);
+        }
+        if (2 * (size + 1) > keys.length) {
+            rehash(2 * keys.length);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        distances[slot] = distance;
+        visited.set(slot, isVisited);
+        int entry = entryOf(id);
+        keys[entry] = id;
+        slotsPlusOne[entry] = slot + 1;
+        return slot;
+    }
+
+    /**
+     * Return the id of the node in the given slot.
+     *
+     * @param slot the slot
+     * @return the id
+     */
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Return the distance to the target of the node in the given slot.
+     *
+     * @param slot the slot
+     * @return the distance
+     */
+    int distance(int slot) {
+        return distances[slot];
+    }
+
+    /**
+     * Return whether the node in the given slot has been visited.
+     *
+     * @param slot the slot
+     * @return whether the node has been visited
+     */
+    boolean isVisited(int slot) {
+        return visited.get(slot);
+    }
+
+    /**
+     * Mark the node in the given slot as visited.
+     *
+     * @param slot the slot
+     */
+    void visit(int slot) {
+        visited.set(slot);
+    }
+
+    /**
+     * Return the number of neighbours of the node in the given slot.
+     *
+     * @param slot the slot
+     * @return the number of neighbours
+     */
+    int neighbourCount(int slot) {
+        return neighbourCounts[slot];
+    }
+
+    /**
+     * Return the slot of the i-th neighbour of the node in the given slot, in the order of ExploreNode.compareTo.
+     *
+     * @param slot the slot
+     * @param i    the position of the neighbour, less than neighbourCount(slot)
+     * @return the slot of the neighbour
+     */
+    int neighbour(int slot, int i) {
+        return neighbours[slot * MAX_NEIGHBOURS + i];
+    }
+
+    /**
+     * Return the slot of the first unvisited neighbour of the node in the given slot, in the order of
+     * ExploreNode.compareTo, or NO_SLOT if every neighbour has been visited.
+     *
+     * @param slot the slot
+     * @return the slot of the best unvisited neighbour
+     */
+    int bestUnvisitedNeighbour(int slot) {
+        for (int i = 0; i < neighbourCounts[slot]; i++) {
+            int neighbour = neighbour(slot, i);
+            if (!visited.get(neighbour)) {
+                return neighbour;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Add the node in slot neighbour as a neighbour of the node in slot, keeping the neighbours sorted.
+     * Throw an IllegalStateException if the node already has MAX_NEIGHBOURS other neighbours.
+     *
+     * @param slot      the slot of the node
+     * @param neighbour the slot of the neighbour
+     * @return whether the neighbour was added, false if it already was a neighbour
+     */
+    boolean addNeighbour(int slot, int neighbour) {
+        int first = slot * MAX_NEIGHBOURS;
+        int count = neighbourCounts[slot];
+        // Find the position of neighbour among the sorted neighbours, returning if it is already there
+        int i = 0;
+        while (i < count) {
+            int cmp = compare(neighbours[first + i], neighbour);
+            if (cmp == 0) {
+                return false;
+            }
+            if (cmp > 0) {
+                break;
+            }
+            i++;
+        }
+        if (count == MAX_NEIGHBOURS) {
+            throw new IllegalStateException("addNeighbour: node " + ids[slot] + " already has "
+                    + MAX_NEIGHBOURS + " neighbours");
+        }
+        System.arraycopy(neighbours, first + i, neighbours, first + i + 1, count - i);
+        neighbours[first + i] = neighbour;
+        neighbourCounts[slot]++;
+        return true;
+    }
+
+    /**
+     * Make the nodes in slots a and b neighbours of each other.
+     *
+     * @param a the slot of one node
+     * @param b the slot of the other node
+     * @return whether either node was not a neighbour of the other yet
+     */
+    boolean link(int a, int b) {
+        boolean added = addNeighbour(a, b);
+        return addNeighbour(b, a) || added;
+    }
+
+    /**
+     * Return a node backed by the given slot.
+     *
+     * @param slot the slot
+     * @return the node
+     */
+    ExploreNode node(int slot) {
+        return new ExploreNode(this, slot);
+    }
+
+    /**
+     * Return the number of nodes in the table, which is one more than the highest slot.
+     *
+     * @return the number of nodes
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Compare the nodes in slots a and b like ExploreNode.compareTo: by distance to the target, then by id.
+     */
+    private int compare(int a, int b) {
+        if (distances[a] != distances[b]) {
+            return Integer.compare(distances[a], distances[b]);
+        }
+        return Long.compare(ids[a], ids[b]);
+    }
+
+    /**
+     * Return the entry of the hash table holding id, or the empty entry where id would go.
+     */
+    private int entryOf(long id) {
+        int mask = keys.length - 1;
+        int entry = hash(id) & mask;
+        while (slotsPlusOne[entry] != 0 && keys[entry] != id) {
+            entry = (entry + 1) & mask;
+        }
+        return entry;
+    }
+
+    /**
+     * Rebuild the hash table with the given number of entries, a power of two.
+     */
+    private void rehash(int capacity) {
+        keys = new long[capacity];
+        slotsPlusOne = new int[capacity];
+        for (int slot = 0; slot < size; slot++) {
+            int entry = entryOf(ids[slot]);
+            keys[entry] = ids[slot];
+            slotsPlusOne[entry] = slot + 1;
+        }
+    }
+
+    /**
+     * Spread the bits of id, so that runs of consecutive ids do not cluster in the hash table.
+     */
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
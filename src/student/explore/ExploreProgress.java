@@ -0,0 +1,27 @@
+package student.explore;
+
+/**
+ * A read-only view of how far an exploration has got, handed to a TurnaroundPolicy at every step.
+ */
+public interface ExploreProgress {
+    /**
+     * Return the distance along the grid from the entrance to the target.
+     *
+     * @return the distance at the start of the exploration
+     */
+    int startDistance();
+
+    /**
+     * Return the distance along the grid to the target of the unexplored node closest to it.
+     *
+     * @return the distance of the closest unexplored node
+     */
+    int closestUnexploredDistance();
+
+    /**
+     * Return the number of steps taken so far.
+     *
+     * @return the number of steps
+     */
+    int steps();
+}
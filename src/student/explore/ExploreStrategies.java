@@ -0,0 +1,51 @@
+package student.explore;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The registry of ExploreStrategies, by the names the drivers select them with.
+ */
+public final class ExploreStrategies {
+    /**
+     * The name of the strategy an Explorer uses unless told otherwise
+     */
+    public static final String DEFAULT = "greedy";
+
+    private static final Map<String, ExploreStrategy> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        STRATEGIES.put(DEFAULT, ExploreStrategy.greedy());
+        STRATEGIES.put("tremaux", ExploreStrategy.tremaux());
+        STRATEGIES.put("astar", ExploreStrategy.frontierAStar());
+    }
+
+    private ExploreStrategies() {
+    }
+
+    /**
+     * Return the names of the registered strategies, the default one first.
+     *
+     * @return the names
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(STRATEGIES.keySet());
+    }
+
+    /**
+     * Return the strategy registered under name.
+     * Throw an IllegalArgumentException if there is none.
+     *
+     * @param name the name of the strategy
+     * @return the strategy
+     */
+    public static ExploreStrategy named(String name) {
+        var strategy = STRATEGIES.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("named: no explore strategy " + name + ", expected one of " + names());
+        }
+        return strategy;
+    }
+}
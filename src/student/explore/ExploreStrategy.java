@@ -0,0 +1,58 @@
+package student.explore;
+
+import game.ExplorationState;
+
+/**
+ * An ExploreStrategy finds the orb of an ExplorationState. A strategy keeps no state of its own between games:
+ * each call to explore runs a fresh algorithm, so one strategy can play any number of games, concurrently.
+ * The strategies are registered by name in ExploreStrategies.
+ */
+@FunctionalInterface
+public interface ExploreStrategy {
+    /**
+     * Move through state until standing on the orb, or give up if it cannot be reached.
+     *
+     * @param state the state to explore
+     */
+    void explore(ExplorationState state);
+
+    /**
+     * Return the greedy strategy with the default TurnaroundPolicy: go forward to the unvisited neighbour closest
+     * to the target, and backtrack to the unvisited node closest to the target once the neighbour is too far
+     * behind it (see ExploreAlgorithm).
+     *
+     * @return the strategy
+     */
+    static ExploreStrategy greedy() {
+        return greedy(TurnaroundPolicy.adaptive());
+    }
+
+    /**
+     * Return the greedy strategy, backtracking as decided by turnaroundPolicy.
+     *
+     * @param turnaroundPolicy decides when to backtrack
+     * @return the strategy
+     */
+    static ExploreStrategy greedy(TurnaroundPolicy turnaroundPolicy) {
+        return state -> new ExploreAlgorithm(state, turnaroundPolicy).explore();
+    }
+
+    /**
+     * Return the depth-first strategy of Trémaux (see TremauxAlgorithm).
+     *
+     * @return the strategy
+     */
+    static ExploreStrategy tremaux() {
+        return state -> new TremauxAlgorithm(state).explore();
+    }
+
+    /**
+     * Return the strategy heading for the unvisited node minimising the steps to it plus its distance to the
+     * target (see FrontierAStarAlgorithm).
+     *
+     * @return the strategy
+     */
+    static ExploreStrategy frontierAStar() {
+        return state -> new FrontierAStarAlgorithm(state).explore();
+    }
+}
@@ -0,0 +1,38 @@
+package student.explore;
+
+import game.ExplorationState;
+
+/**
+ * Explores by heading, at every node, for the unvisited node that minimises the number of steps to reach it plus
+ * its distance to the target, i.e. by an A* search towards the target re-planned from the explorer's location
+ * each time it reaches an unvisited node. A detour is taken only if it is shorter than the progress it promises,
+ * so the explorer neither commits to a dead end like a depth-first search nor crosses the cavern for a node that
+ * is only slightly closer to the target.
+ */
+public class FrontierAStarAlgorithm {
+
+    private final ExplorationState state;
+    private final ExploreGraph g = new ExploreGraph();
+
+    /**
+     * Construct an algorithm exploring state
+     *
+     * @param state the state to explore
+     */
+    public FrontierAStarAlgorithm(ExplorationState state) {
+        this.state = state;
+    }
+
+    public void explore() {
+        while (state.getDistanceToTarget() != 0) {
+            g.logVisit(state);
+            var path = g.getPathToCheapestNode(state.getCurrentLocation());
+            if (path.getSize() < 2) {
+                // Every reachable node has been visited: the target cannot be reached
+                return;
+            }
+            // Every node of the path but the last has been visited, so only the last is logged, by the next round
+            path.getNodes().stream().skip(1).forEach(node -> state.moveTo(node.getId()));
+        }
+    }
+}
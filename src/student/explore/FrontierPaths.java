@@ -0,0 +1,215 @@
+package student.explore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.PriorityQueue;
+
+/**
+ * A FrontierPaths is a shortest-path forest over the nodes of an ExploreNodeTable, rooted at a set of source nodes:
+ * every node reaching a source knows the number of steps to the nearest one and the next node on the way.
+ * The forest is repaired rather than rebuilt when edges or sources are added or removed, so a repair only
+ * touches the nodes whose distance changes, and a path is read off in time proportional to its length.
+ * <p>
+ * Edges are undirected and one step long. Nodes are identified by their slot in the table, and the distance
+ * and next node of slot i are held in distances[i] and next[i].
+ */
+class FrontierPaths {
+    /**
+     * The distance of a node from which no source can be reached
+     */
+    static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final ExploreNodeTable table;
+
+    /**
+     * distances[i] is the number of steps from slot i to the nearest source, and next[i] the slot after i on
+     * such a path (NO_SLOT for a source or an unreached node); slots beyond the arrays are unreached
+     */
+    private int[] distances = new int[0];
+    private int[] next = new int[0];
+
+    /**
+     * The slots of the current sources, each at distance 0
+     */
+    private final BitSet sources = new BitSet();
+
+    /**
+     * The nodes whose distance has been lowered but whose neighbours have not been relaxed yet
+     */
+    private final PriorityQueue<Relaxation> queue = new PriorityQueue<>();
+
+    /**
+     * cut[0..cutCount-1] are the nodes cut off from the forest by the last call to cutOff
+     */
+    private int[] cut = new int[16];
+    private int cutCount;
+
+    /**
+     * A node that was given the distance, queued until its neighbours are relaxed.
+     * It is stale if the node's distance has been lowered again since.
+     */
+    private record Relaxation(int distance, int slot) implements Comparable<Relaxation> {
+        @Override
+        public int compareTo(Relaxation other) {
+            return Integer.compare(distance, other.distance);
+        }
+    }
+
+    /**
+     * Constructor: a forest over the nodes of table, with no sources yet
+     */
+    FrontierPaths(ExploreNodeTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Repair the forest after an edge between the nodes in slots a and b was added to the table.
+     *
+     * @param a the slot of one end of the edge
+     * @param b the slot of the other end of the edge
+     */
+    void addEdge(int a, int b) {
+        ensureCapacity();
+        relax(a, b);
+        relax(b, a);
+        propagate();
+    }
+
+    /**
+     * Make the nodes in the given slots the sources, repairing the forest: the subtrees of the sources that are
+     * dropped are cut off and reattached from their boundary, then the new sources are grown into the forest.
+     *
+     * @param newSources the slots of the nodes that should be the sources
+     */
+    void setSources(BitSet newSources) {
+        ensureCapacity();
+
+        // Cut off the subtrees of the dropped sources
+        var dropped = (BitSet) sources.clone();
+        dropped.andNot(newSources);
+        if (!dropped.isEmpty()) {
+            sources.andNot(dropped);
+            cutOff(dropped);
+            reattach();
+        }
+
+        // Grow the new sources into the forest
+        for (int s = newSources.nextSetBit(0); s >= 0; s = newSources.nextSetBit(s + 1)) {
+            if (!sources.get(s)) {
+                sources.set(s);
+                distances[s] = 0;
+                next[s] = ExploreNodeTable.NO_SLOT;
+                queue.offer(new Relaxation(0, s));
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * Return a shortest path from the node in slot start to the nearest source, or null if no source can be reached.
+     *
+     * @param start the slot of the first node of the path
+     * @return the path
+     */
+    ExplorePath pathFrom(int start) {
+        if (start < 0 || start >= distances.length || distances[start] == UNREACHED) {
+            return null;
+        }
+        var nodes = new ArrayList<ExploreNode>(distances[start] + 1);
+        for (int slot = start; slot != ExploreNodeTable.NO_SLOT; slot = next[slot]) {
+            nodes.add(table.node(slot));
+        }
+        return new ExplorePath(nodes);
+    }
+
+    /**
+     * Unreach the nodes whose path to a source goes through one of roots, including roots,
+     * and store them in cut[0..cutCount-1].
+     *
+     * @param roots the slots of the roots of the subtrees
+     */
+    private void cutOff(BitSet roots) {
+        cutCount = 0;
+        for (int root = roots.nextSetBit(0); root >= 0; root = roots.nextSetBit(root + 1)) {
+            addToCut(root);
+        }
+        // cut[visited..cutCount-1] are the nodes whose children have not been cut yet
+        for (int visited = 0; visited < cutCount; visited++) {
+            int node = cut[visited];
+            for (int i = 0; i < table.neighbourCount(node); i++) {
+                int neighbour = table.neighbour(node, i);
+                if (next[neighbour] == node) {
+                    addToCut(neighbour);
+                }
+            }
+        }
+        for (int i = 0; i < cutCount; i++) {
+            distances[cut[i]] = UNREACHED;
+            next[cut[i]] = ExploreNodeTable.NO_SLOT;
+        }
+    }
+
+    private void addToCut(int slot) {
+        if (cutCount == cut.length) {
+            cut = Arrays.copyOf(cut, 2 * cutCount);
+        }
+        cut[cutCount++] = slot;
+    }
+
+    /**
+     * Give each cut node its best path through a neighbour that is still reached, and propagate from there.
+     */
+    private void reattach() {
+        for (int c = 0; c < cutCount; c++) {
+            int node = cut[c];
+            for (int i = 0; i < table.neighbourCount(node); i++) {
+                relax(table.neighbour(node, i), node);
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * If the path to a source through from is shorter than the best path from to, switch to it and queue to.
+     *
+     * @param from the slot of the node the path would go through
+     * @param to   the slot of the neighbour of from whose path may improve
+     */
+    private void relax(int from, int to) {
+        if (distances[from] != UNREACHED && distances[from] + 1 < distances[to]) {
+            distances[to] = distances[from] + 1;
+            next[to] = from;
+            queue.offer(new Relaxation(distances[to], to));
+        }
+    }
+
+    /**
+     * Relax the neighbours of the queued nodes, nearest first, until no distance can be lowered.
+     */
+    private void propagate() {
+        while (!queue.isEmpty()) {
+            var relaxation = queue.poll();
+            int node = relaxation.slot();
+            if (relaxation.distance() == distances[node]) {
+                for (int i = 0; i < table.neighbourCount(node); i++) {
+                    relax(node, table.neighbour(node, i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Grow distances and next to cover every slot of the table, the new slots unreached.
+     */
+    private void ensureCapacity() {
+        int oldLength = distances.length;
+        if (oldLength < table.size()) {
+            int length = Math.max(table.size(), 2 * oldLength);
+            distances = Arrays.copyOf(distances, length);
+            next = Arrays.copyOf(next, length);
+            Arrays.fill(distances, oldLength, length, UNREACHED);
+            Arrays.fill(next, oldLength, length, ExploreNodeTable.NO_SLOT);
+        }
+    }
+}
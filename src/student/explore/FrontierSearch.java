@@ -0,0 +1,127 @@
+package student.explore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A FrontierSearch finds, over the nodes of an ExploreNodeTable, the unvisited node that is cheapest to aim for
+ * from a given node: the one minimising the number of steps to reach it through visited nodes plus its distance
+ * to the target. This is A* from the start towards the target, with the unvisited nodes as the goals.
+ * <p>
+ * Nodes are searched in order of key = steps + distance to the target. A step changes the distance to the target
+ * by exactly one, so it leaves the key unchanged or raises it by 2: the nodes with the current key are kept on a
+ * stack and those with the next key on another, and the first unvisited node popped is the cheapest. Popping
+ * the latest node first breaks ties towards the nodes closer to the target. The arrays of the search are
+ * reused from one search to the next, so a search allocates nothing but its path.
+ */
+class FrontierSearch {
+    private final ExploreNodeTable table;
+
+    /**
+     * steps[i] is the number of steps from the start to slot i and previous[i] the slot before it on the way,
+     * valid only if searched[i] is the number of the current search
+     */
+    private int[] steps = new int[0];
+    private int[] previous = new int[0];
+    private int[] searched = new int[0];
+    private int search;
+
+    /**
+     * The slots whose key is the current key, and those whose key is 2 more
+     */
+    private int[] current = new int[16];
+    private int currentCount;
+    private int[] next = new int[16];
+    private int nextCount;
+
+    /**
+     * Constructor: a search over the nodes of table
+     */
+    FrontierSearch(ExploreNodeTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Return a path from the node in slot start to the unvisited node minimising the number of steps to it plus
+     * its distance to the target, or null if no unvisited node can be reached. Only the last node of the path is
+     * unvisited. Return null too if there is no node in slot start.
+     *
+     * @param start the slot of the first node of the path
+     * @return the path
+     */
+    ExplorePath pathFrom(int start) {
+        if (start < 0 || start >= table.size()) {
+            return null;
+        }
+        ensureCapacity();
+        search++;
+        currentCount = 0;
+        nextCount = 0;
+        reach(start, 0, ExploreNodeTable.NO_SLOT, false);
+
+        while (currentCount > 0) {
+            while (currentCount > 0) {
+                int node = current[--currentCount];
+                if (!table.isVisited(node)) {
+                    return pathTo(node);
+                }
+                for (int i = 0; i < table.neighbourCount(node); i++) {
+                    int neighbour = table.neighbour(node, i);
+                    if (searched[neighbour] != search || steps[node] + 1 < steps[neighbour]) {
+                        reach(neighbour, steps[node] + 1, node, table.distance(neighbour) > table.distance(node));
+                    }
+                }
+            }
+            int[] swap = current;
+            current = next;
+            currentCount = nextCount;
+            next = swap;
+            nextCount = 0;
+        }
+        return null;
+    }
+
+    /**
+     * Record that slot is the given number of steps from the start, coming from previous, and push it on the
+     * stack of the next key if its key is higher than the current one, on the current stack otherwise.
+     */
+    private void reach(int slot, int stepCount, int previousSlot, boolean higherKey) {
+        searched[slot] = search;
+        steps[slot] = stepCount;
+        previous[slot] = previousSlot;
+        if (higherKey) {
+            if (nextCount == next.length) {
+                next = Arrays.copyOf(next, 2 * nextCount);
+            }
+            next[nextCount++] = slot;
+        } else {
+            if (currentCount == current.length) {
+                current = Arrays.copyOf(current, 2 * currentCount);
+            }
+            current[currentCount++] = slot;
+        }
+    }
+
+    /**
+     * Return the path from the start of the current search to slot.
+     */
+    private ExplorePath pathTo(int slot) {
+        var nodes = new ArrayList<ExploreNode>(steps[slot] + 1);
+        for (int s = slot; s != ExploreNodeTable.NO_SLOT; s = previous[s]) {
+            nodes.add(table.node(s));
+        }
+        return new ExplorePath(nodes.reversed());
+    }
+
+    /**
+     * Grow the arrays of the search to cover every slot of the table.
+     */
+    private void ensureCapacity() {
+        if (searched.length < table.size()) {
+            int length = Math.max(table.size(), 2 * searched.length);
+            steps = Arrays.copyOf(steps, length);
+            previous = Arrays.copyOf(previous, length);
+            searched = Arrays.copyOf(searched, length);
+        }
+    }
+}
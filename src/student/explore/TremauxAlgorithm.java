@@ -0,0 +1,53 @@
+package student.explore;
+
+import game.ExplorationState;
+
+import java.util.Arrays;
+
+/**
+ * Explores by Trémaux's algorithm, i.e. a depth-first search: the explorer goes forward to an unvisited
+ * neighbour while there is one, the one closest to the target first, and otherwise goes back the way it
+ * came to the last node that still has one. Every passage is thus walked at most twice, once each way.
+ * The way back is kept as a stack of ids, so a step takes constant time and the explorer never plans a path.
+ */
+public class TremauxAlgorithm {
+
+    private final ExplorationState state;
+    private final ExploreGraph g = new ExploreGraph();
+
+    /**
+     * trail[0..trailSize-1] are the ids of the nodes the explorer went forward from, to get to its location
+     */
+    private long[] trail = new long[16];
+    private int trailSize;
+
+    /**
+     * Construct an algorithm exploring state
+     *
+     * @param state the state to explore
+     */
+    public TremauxAlgorithm(ExplorationState state) {
+        this.state = state;
+    }
+
+    public void explore() {
+        g.logVisit(state);
+        while (state.getDistanceToTarget() != 0) {
+            var next = g.getBestUnexploredNeighbour(state.getCurrentLocation());
+            if (next != null) {
+                if (trailSize == trail.length) {
+                    trail = Arrays.copyOf(trail, 2 * trailSize);
+                }
+                trail[trailSize++] = state.getCurrentLocation();
+                state.moveTo(next.getId());
+                g.logVisit(state);
+            } else if (trailSize > 0) {
+                // A dead end: go back, the neighbours of the previous node are known already
+                state.moveTo(trail[--trailSize]);
+            } else {
+                // Every reachable node has been visited: the target cannot be reached
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package student.explore;
+
+/**
+ * A TurnaroundPolicy decides when ExploreAlgorithm gives up on the unexplored neighbours of its location
+ * and backtracks to the unexplored node closest to the target instead.
+ * The explorer keeps going forward as long as its best unexplored neighbour is at most threshold(progress)
+ * further from the target than the closest unexplored node.
+ */
+@FunctionalInterface
+public interface TurnaroundPolicy {
+    /**
+     * Return how much further from the target than the closest unexplored node the best unexplored
+     * neighbour may be for the explorer to keep going forward.
+     *
+     * @param progress how far the exploration has got
+     * @return the threshold, in steps along the grid
+     */
+    int threshold(ExploreProgress progress);
+
+    /**
+     * Return a policy whose threshold is always the given one.
+     *
+     * @param threshold the threshold
+     * @return the policy
+     */
+    static TurnaroundPolicy fixed(int threshold) {
+        return progress -> threshold;
+    }
+
+    /**
+     * Return the default policy, which scales the threshold with an estimate of the size of the cavern
+     * (see AdaptiveTurnaroundPolicy).
+     *
+     * @return the policy
+     */
+    static TurnaroundPolicy adaptive() {
+        return new AdaptiveTurnaroundPolicy();
+    }
+}
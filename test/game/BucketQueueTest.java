@@ -0,0 +1,78 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class BucketQueueTest {
+
+    /**
+     * Return the lowest of priorities, ignoring the values not in the queue (priority -1).
+     */
+    static int lowest(int[] priorities) {
+        return Arrays.stream(priorities).filter(p -> p >= 0).min().orElseThrow();
+    }
+
+    @Test
+    void test_poll_in_priority_order_when_used_as_by_dial() {
+        // Add and lower priorities within maxWeight of the priority last polled, as Dial's algorithm does
+        int n = 300;
+        int maxWeight = 7;
+        Random rand = new Random(2);
+        BucketQueue queue = new BucketQueue(n, maxWeight);
+        int[] priorities = new int[n];
+        Arrays.fill(priorities, -1);
+
+        queue.add(0, 0);
+        priorities[0] = 0;
+        int added = 1;
+        int polled = 0;
+        while (!queue.isEmpty()) {
+            int expected = lowest(priorities);
+            int v = queue.poll();
+            Assertions.assertEquals(expected, priorities[v]);
+            int current = priorities[v];
+            priorities[v] = -1;
+            polled++;
+
+            for (int i = rand.nextInt(4); i > 0 && added < n; i--) {
+                priorities[added] = current + rand.nextInt(maxWeight + 1);
+                queue.add(added, priorities[added]);
+                added++;
+            }
+            int w = rand.nextInt(added);
+            if (priorities[w] > current) {
+                priorities[w] = current + rand.nextInt(priorities[w] - current);
+                queue.decreasePriority(w, priorities[w]);
+            }
+        }
+        Assertions.assertEquals(added, polled);
+    }
+
+    @Test
+    void test_poll_empty_throws() {
+        BucketQueue queue = new BucketQueue(3, 4);
+        Assertions.assertThrows(NoSuchElementException.class, queue::poll);
+    }
+
+    @Test
+    void test_clear_restarts_priorities() {
+        BucketQueue queue = new BucketQueue(4, 4);
+        queue.add(0, 0);
+        queue.poll();
+        queue.add(1, 3);
+        queue.add(2, 4);
+        queue.poll();
+        queue.clear();
+        Assertions.assertTrue(queue.isEmpty());
+
+        queue.add(3, 2);
+        queue.add(2, 0);
+        Assertions.assertEquals(2, queue.poll());
+        Assertions.assertEquals(3, queue.poll());
+        Assertions.assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public class CavernBinaryTest {
+
+    @Test
+    void test_binary_round_trip_escape_cavern() throws IOException {
+        Cavern cavern = Cavern.digEscapeCavern(30, 45, 15, 20, new Random(4));
+        Path file = Files.createTempFile("cavern", ".bin");
+        try {
+            cavern.serializeBinary(file);
+            CavernTestHelper.assertSameCavern(cavern, Cavern.deserializeBinary(file));
+            CavernTestHelper.assertSameCavern(cavern, Cavern.load(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_binary_round_trip_explore_cavern() throws IOException {
+        Cavern cavern = Cavern.digExploreCavern(30, 45, new Random(4));
+        Path file = Files.createTempFile("cavern", ".bin");
+        try {
+            cavern.serializeBinary(file);
+            CavernTestHelper.assertSameCavern(cavern, Cavern.deserializeBinary(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_deserialize_binary_rejects_text_file() throws IOException {
+        Cavern cavern = Cavern.digExploreCavern(10, 10, new Random(4));
+        Path file = Files.createTempFile("cavern", ".txt");
+        try {
+            Files.write(file, cavern.serialize());
+            Assertions.assertThrows(IOException.class, () -> Cavern.deserializeBinary(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Return the bytes of a small escape cavern in the binary format.
+     */
+    static byte[] binaryCavern() throws IOException {
+        Path file = Files.createTempFile("cavern", ".bin");
+        try {
+            Cavern.digEscapeCavern(10, 12, 5, 6, new Random(6)).serializeBinary(file);
+            return Files.readAllBytes(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Assert that deserializeBinary throws an IOException for a file holding bytes.
+     */
+    static void assertRejected(byte[] bytes) throws IOException {
+        Path file = Files.createTempFile("cavern", ".bin");
+        try {
+            Files.write(file, bytes);
+            Assertions.assertThrows(IOException.class, () -> Cavern.deserializeBinary(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_deserialize_binary_rejects_truncated_file() throws IOException {
+        byte[] bytes = binaryCavern();
+        assertRejected(Arrays.copyOf(bytes, bytes.length - 1));
+        assertRejected(Arrays.copyOf(bytes, bytes.length / 2));
+        assertRejected(Arrays.copyOf(bytes, 8));
+        assertRejected(Arrays.copyOf(bytes, bytes.length + 3));
+    }
+
+    @Test
+    void test_deserialize_binary_rejects_corrupt_records() throws IOException {
+        // The header is magic, version, rows, cols, node count and target id; the first record follows it
+        // with id, row, col, gold and type
+        int header = 4 + 2 + 4 + 4 + 4 + 8;
+
+        byte[] badType = binaryCavern();
+        badType[header + 8 + 4 + 4 + 4] = 100;
+        assertRejected(badType);
+
+        byte[] badRow = binaryCavern();
+        ByteBuffer.wrap(badRow).putInt(header + 8, -3);
+        assertRejected(badRow);
+
+        byte[] badTarget = binaryCavern();
+        ByteBuffer.wrap(badTarget).putLong(4 + 2 + 4 + 4 + 4, 1_000_000L);
+        assertRejected(badTarget);
+
+        byte[] badCount = binaryCavern();
+        ByteBuffer.wrap(badCount).putInt(4 + 2 + 4 + 4, Integer.MAX_VALUE);
+        assertRejected(badCount);
+    }
+}
@@ -0,0 +1,153 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class CavernDiggerTest {
+    static final int ROWS = 30;
+    static final int COLS = 40;
+
+    static CavernDigger dig(long seed) {
+        Random rand = new Random(seed);
+        CavernDigger digger = new CavernDigger(ROWS, COLS);
+        digger.dig(ROWS / 2, COLS / 2, Tile.Type.ENTRANCE, 0, rand, () -> rand.nextInt(10), new NodeFactory());
+        return digger;
+    }
+
+    /**
+     * Return the number of steps from the start cell to each cell dug by digger, by breadth-first search.
+     */
+    static Map<Integer, Integer> stepsFromStart(CavernDigger digger) {
+        Set<Integer> cells = new HashSet<>();
+        for (int i = 0; i < digger.count(); i++) {
+            Tile t = digger.node(i).getTile();
+            cells.add(t.getRow() * COLS + t.getColumn());
+        }
+        Map<Integer, Integer> steps = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int start = ROWS / 2 * COLS + COLS / 2;
+        steps.put(start, 0);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (Cavern.Direction dir : Cavern.Direction.values()) {
+                int other = cell + dir.getRowDelta() * COLS + dir.getColumnDelta();
+                if (cells.contains(other) && !steps.containsKey(other)) {
+                    steps.put(other, steps.get(cell) + 1);
+                    queue.add(other);
+                }
+            }
+        }
+        return steps;
+    }
+
+    @Test
+    void test_dig_is_deterministic_for_seed() {
+        CavernDigger first = dig(9);
+        CavernDigger second = dig(9);
+        Assertions.assertEquals(first.count(), second.count());
+        for (int i = 0; i < first.count(); i++) {
+            Tile t = first.node(i).getTile();
+            Tile u = second.node(i).getTile();
+            Assertions.assertEquals(t.getRow(), u.getRow());
+            Assertions.assertEquals(t.getColumn(), u.getColumn());
+            Assertions.assertEquals(t.getGold(), u.getGold());
+        }
+    }
+
+    @Test
+    void test_dug_cells_are_numbered_interior_and_connected() {
+        CavernDigger digger = dig(10);
+        Assertions.assertEquals(Tile.Type.ENTRANCE, digger.node(0).getTile().getType());
+
+        Set<Integer> cells = new HashSet<>();
+        for (int i = 0; i < digger.count(); i++) {
+            Node n = digger.node(i);
+            Assertions.assertEquals(i, n.getId());
+            int r = n.getTile().getRow();
+            int c = n.getTile().getColumn();
+            Assertions.assertTrue(r > 0 && r < ROWS - 1 && c > 0 && c < COLS - 1, "(" + r + ", " + c + ")");
+            Assertions.assertTrue(cells.add(r * COLS + c));
+        }
+        Assertions.assertEquals(digger.count(), digger.nodes().size());
+
+        // Every dug cell can be reached from the first one through dug cells
+        Assertions.assertEquals(cells, stepsFromStart(digger).keySet());
+    }
+
+    @Test
+    void test_random_node_at_least_is_far_enough() {
+        CavernDigger digger = dig(11);
+        int minDistance = 10;
+        Node far = digger.randomNodeAtLeast(minDistance, new Random(1));
+        Assertions.assertNotNull(far);
+        Tile t = far.getTile();
+        Assertions.assertTrue(stepsFromStart(digger).get(t.getRow() * COLS + t.getColumn()) >= minDistance);
+    }
+
+    @Test
+    void test_random_node_at_least_falls_back_to_furthest() {
+        CavernDigger digger = dig(11);
+        Map<Integer, Integer> steps = stepsFromStart(digger);
+        int furthest = steps.values().stream().max(Integer::compare).orElseThrow();
+        Node far = digger.randomNodeAtLeast(ROWS * COLS, new Random(1));
+        Tile t = far.getTile();
+        Assertions.assertEquals(furthest, steps.get(t.getRow() * COLS + t.getColumn()));
+    }
+
+    @Test
+    void test_dig_entrance_on_border() {
+        CavernDigger digger = dig(12);
+        int count = digger.count();
+        digger.digRandomEntrance(new Random(1), new NodeFactory(count));
+        Node entrance = digger.node(count);
+        Assertions.assertEquals(count, entrance.getId());
+        Assertions.assertEquals(Tile.Type.ENTRANCE, entrance.getTile().getType());
+        int r = entrance.getTile().getRow();
+        int c = entrance.getTile().getColumn();
+        Assertions.assertTrue(r == 0 || r == ROWS - 1 || c == 0 || c == COLS - 1, "(" + r + ", " + c + ")");
+    }
+
+    @Test
+    void test_dig_entrance_through_corridor() {
+        // The cavern dug from seed 359 reaches no cell next to the border
+        CavernDigger digger = dig(359);
+        int count = digger.count();
+        for (int i = 0; i < count; i++) {
+            Tile t = digger.node(i).getTile();
+            Assertions.assertTrue(t.getRow() > 1 && t.getRow() < ROWS - 2 && t.getColumn() > 1 && t.getColumn() < COLS - 2);
+        }
+
+        digger.digRandomEntrance(new Random(1), new NodeFactory(count));
+        Assertions.assertTrue(digger.count() > count + 1);
+        for (int i = count; i < digger.count() - 1; i++) {
+            Tile t = digger.node(i).getTile();
+            Assertions.assertEquals(i, digger.node(i).getId());
+            Assertions.assertEquals(Tile.Type.FLOOR, t.getType());
+            Assertions.assertEquals(0, t.getGold());
+        }
+        Node entrance = digger.node(digger.count() - 1);
+        Assertions.assertEquals(Tile.Type.ENTRANCE, entrance.getTile().getType());
+        int r = entrance.getTile().getRow();
+        int c = entrance.getTile().getColumn();
+        Assertions.assertTrue(r == 0 || r == ROWS - 1 || c == 0 || c == COLS - 1, "(" + r + ", " + c + ")");
+        Assertions.assertFalse((r == 0 || r == ROWS - 1) && (c == 0 || c == COLS - 1), "(" + r + ", " + c + ")");
+
+        // The corridor joins the entrance to the cavern
+        Assertions.assertEquals(digger.count(), stepsFromStart(digger).size());
+    }
+
+    @Test
+    void test_classic_cavern_is_deterministic_for_seed() {
+        CavernTestHelper.assertSameCavern(
+            Cavern.digEscapeCavern(ROWS, COLS, 5, 5, new Random(13)),
+            Cavern.digEscapeCavern(ROWS, COLS, 5, 5, new Random(13)));
+    }
+}
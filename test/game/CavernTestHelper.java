@@ -0,0 +1,42 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Assertions shared by the tests of the ways of reading and writing caverns.
+ */
+public class CavernTestHelper {
+
+    /**
+     * Assert that actual has the same size, tiles, node ids, edges, entrance and target as expected.
+     */
+    public static void assertSameCavern(Cavern expected, Cavern actual) {
+        Assertions.assertEquals(expected.getRowCount(), actual.getRowCount());
+        Assertions.assertEquals(expected.getColumnCount(), actual.getColumnCount());
+        Assertions.assertEquals(expected.numOpenTiles(), actual.numOpenTiles());
+        for (int r = 0; r < expected.getRowCount(); r++) {
+            for (int c = 0; c < expected.getColumnCount(); c++) {
+                Node e = expected.getNodeAt(r, c);
+                Node a = actual.getNodeAt(r, c);
+                String at = "at (" + r + ", " + c + ")";
+                Assertions.assertEquals(e.getTile().getType(), a.getTile().getType(), at);
+                Assertions.assertEquals(e.getTile().getGold(), a.getTile().getGold(), at);
+                if (e.getTile().getType().isOpen()) {
+                    Assertions.assertEquals(e.getId(), a.getId(), at);
+                }
+                for (Cavern.Direction dir : Cavern.Direction.values()) {
+                    Assertions.assertEquals(length(e.getEdge(dir)), length(a.getEdge(dir)), at + " " + dir);
+                }
+            }
+        }
+        Assertions.assertEquals(expected.getEntrance().getId(), actual.getEntrance().getId());
+        Assertions.assertEquals(expected.getTarget().getId(), actual.getTarget().getId());
+    }
+
+    /**
+     * Return the length of edge, or 0 if it is null.
+     */
+    private static int length(Edge edge) {
+        return edge == null ? 0 : edge.length();
+    }
+}
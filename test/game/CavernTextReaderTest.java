@@ -0,0 +1,59 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class CavernTextReaderTest {
+
+    static Cavern createEscapeCavern() {
+        return Cavern.digEscapeCavern(30, 45, 15, 20, new Random(6));
+    }
+
+    static String text(Cavern cavern) {
+        return String.join("\n", cavern.serialize()) + "\n";
+    }
+
+    @Test
+    void test_reader_round_trip() throws IOException {
+        Cavern cavern = createEscapeCavern();
+        CavernTestHelper.assertSameCavern(cavern, Cavern.deserialize(new StringReader(text(cavern))));
+    }
+
+    @Test
+    void test_reader_matches_list_deserialize() throws IOException {
+        Cavern cavern = Cavern.digExploreCavern(30, 45, new Random(6));
+        Cavern fromList = Cavern.deserialize(cavern.serialize());
+        CavernTestHelper.assertSameCavern(fromList, Cavern.deserialize(new StringReader(text(cavern))));
+    }
+
+    @Test
+    void test_channel_round_trip() throws IOException {
+        Cavern cavern = createEscapeCavern();
+        var bytes = new ByteArrayInputStream(text(cavern).getBytes(StandardCharsets.UTF_8));
+        CavernTestHelper.assertSameCavern(cavern, Cavern.deserialize(Channels.newChannel(bytes)));
+    }
+
+    @Test
+    void test_memory_mapped_matches_text() throws IOException {
+        Cavern cavern = createEscapeCavern();
+        Path textFile = Files.createTempFile("cavern", ".txt");
+        Path binaryFile = Files.createTempFile("cavern", ".bin");
+        try {
+            Files.write(textFile, cavern.serialize());
+            Cavern.convertToBinary(textFile, binaryFile);
+            CavernTestHelper.assertSameCavern(Cavern.load(textFile), Cavern.load(binaryFile));
+            CavernTestHelper.assertSameCavern(cavern, Cavern.load(binaryFile));
+        } finally {
+            Files.delete(textFile);
+            Files.delete(binaryFile);
+        }
+    }
+}
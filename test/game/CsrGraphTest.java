@@ -0,0 +1,62 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class CsrGraphTest {
+
+    static Cavern createEscapeCavern(long seed) {
+        return Cavern.digEscapeCavern(20, 30, 10, 15, new Random(seed));
+    }
+
+    @Test
+    void test_csr_matches_node_edges() {
+        Cavern cavern = createEscapeCavern(3);
+        CsrGraph csr = cavern.getCsrGraph();
+        Assertions.assertEquals(cavern.numOpenTiles(), csr.size());
+
+        int edges = 0;
+        int maxWeight = 0;
+        for (int v = 0; v < csr.size(); v++) {
+            Node n = csr.node(v);
+            Assertions.assertEquals(v, n.getId());
+            Assertions.assertEquals(v, csr.indexOf(n));
+            Assertions.assertEquals(n.getExits().size(), csr.degree(v));
+
+            // The edges of a node are in the order of the directions
+            int e = csr.firstEdge(v);
+            for (Cavern.Direction dir : Cavern.Direction.values()) {
+                Edge edge = n.getEdge(dir);
+                if (edge != null) {
+                    Assertions.assertSame(edge.getOther(n), csr.node(csr.neighbour(e)));
+                    Assertions.assertEquals(edge.length(), csr.weight(e));
+                    maxWeight = Math.max(maxWeight, edge.length());
+                    e++;
+                }
+            }
+            Assertions.assertEquals(csr.endEdge(v), e);
+            edges += csr.degree(v);
+        }
+        Assertions.assertEquals(edges, csr.edgeCount());
+        Assertions.assertEquals(maxWeight, csr.maxWeight());
+    }
+
+    @Test
+    void test_csr_index_at_grid_cell() {
+        Cavern cavern = createEscapeCavern(5);
+        CsrGraph csr = cavern.getCsrGraph();
+        for (int r = 0; r < cavern.getRowCount(); r++) {
+            for (int c = 0; c < cavern.getColumnCount(); c++) {
+                Node n = cavern.getNodeAt(r, c);
+                if (n.getTile().getType().isOpen()) {
+                    Assertions.assertSame(n, csr.node(csr.indexAt(r, c)));
+                } else {
+                    Assertions.assertEquals(-1, csr.indexAt(r, c));
+                    Assertions.assertEquals(-1, csr.indexOf(n));
+                }
+            }
+        }
+    }
+}
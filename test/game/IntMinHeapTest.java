@@ -0,0 +1,80 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IntMinHeapTest {
+
+    @Test
+    void test_poll_in_priority_order() {
+        int n = 200;
+        int[] priorities = new int[n];
+        Random rand = new Random(1);
+        IntMinHeap heap = new IntMinHeap(n);
+        for (int v = 0; v < n; v++) {
+            priorities[v] = rand.nextInt(50);
+            heap.add(v, priorities[v]);
+        }
+        Assertions.assertEquals(n, heap.size());
+
+        int last = Integer.MIN_VALUE;
+        boolean[] polled = new boolean[n];
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            Assertions.assertFalse(polled[v]);
+            Assertions.assertFalse(heap.contains(v));
+            Assertions.assertTrue(priorities[v] >= last, "polled " + priorities[v] + " after " + last);
+            polled[v] = true;
+            last = priorities[v];
+        }
+        Assertions.assertEquals(0, heap.size());
+    }
+
+    @Test
+    void test_decrease_priority() {
+        IntMinHeap heap = new IntMinHeap(5);
+        for (int v = 0; v < 5; v++) {
+            heap.add(v, 10 + v);
+        }
+        heap.decreasePriority(4, 3);
+        heap.decreasePriority(2, 5);
+        Assertions.assertEquals(4, heap.poll());
+        Assertions.assertEquals(2, heap.poll());
+        Assertions.assertEquals(0, heap.poll());
+        Assertions.assertEquals(1, heap.poll());
+        Assertions.assertEquals(3, heap.poll());
+    }
+
+    @Test
+    void test_add_twice_throws() {
+        IntMinHeap heap = new IntMinHeap(3);
+        heap.add(1, 4);
+        Assertions.assertTrue(heap.contains(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.add(1, 2));
+    }
+
+    @Test
+    void test_poll_empty_throws() {
+        IntMinHeap heap = new IntMinHeap(3);
+        Assertions.assertThrows(NoSuchElementException.class, heap::poll);
+    }
+
+    @Test
+    void test_clear_then_reuse() {
+        IntMinHeap heap = new IntMinHeap(4);
+        heap.add(0, 7);
+        heap.add(3, 1);
+        heap.clear();
+        Assertions.assertTrue(heap.isEmpty());
+        Assertions.assertFalse(heap.contains(3));
+
+        // A cleared value can be added again
+        heap.add(3, 9);
+        heap.add(2, 8);
+        Assertions.assertEquals(2, heap.poll());
+        Assertions.assertEquals(3, heap.poll());
+    }
+}
@@ -0,0 +1,84 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ShortestPathsTest {
+
+    /**
+     * Assert that engines give the same distances from several nodes of cavern, one query after another.
+     */
+    static void assertEnginesAgree(Cavern cavern, ShortestPaths.Engine... engines) {
+        CsrGraph csr = cavern.getCsrGraph();
+        ShortestPaths[] searches = new ShortestPaths[engines.length];
+        for (int i = 0; i < engines.length; i++) {
+            searches[i] = new ShortestPaths(csr, engines[i]);
+        }
+        Random rand = new Random(0);
+        for (int query = 0; query < 10; query++) {
+            int source = rand.nextInt(csr.size());
+            int[] expected = searches[0].distancesFrom(source);
+            Assertions.assertEquals(0, expected[source]);
+            for (int i = 1; i < engines.length; i++) {
+                Assertions.assertTrue(Arrays.equals(expected, searches[i].distancesFrom(source)),
+                    engines[i] + " disagrees with " + engines[0] + " from " + source);
+            }
+        }
+    }
+
+    @Test
+    void test_engines_agree_on_explore_cavern() {
+        Cavern cavern = Cavern.digExploreCavern(25, 40, new Random(7));
+        Assertions.assertEquals(ShortestPaths.Engine.BREADTH_FIRST, ShortestPaths.Engine.suitedTo(cavern.getCsrGraph()));
+        assertEnginesAgree(cavern, ShortestPaths.Engine.values());
+    }
+
+    @Test
+    void test_engines_agree_on_escape_cavern() {
+        Cavern cavern = Cavern.digEscapeCavern(25, 40, 12, 20, new Random(7));
+        CsrGraph csr = cavern.getCsrGraph();
+        Assertions.assertEquals(ShortestPaths.Engine.DIAL, ShortestPaths.Engine.suitedTo(csr));
+        assertEnginesAgree(cavern, ShortestPaths.Engine.DIAL, ShortestPaths.Engine.DIJKSTRA);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new ShortestPaths(csr, ShortestPaths.Engine.BREADTH_FIRST));
+    }
+
+    @Test
+    void test_distances_match_cavern() {
+        Cavern cavern = Cavern.digEscapeCavern(25, 40, 12, 20, new Random(8));
+        CsrGraph csr = cavern.getCsrGraph();
+        int[] dist = new ShortestPaths(csr).distancesFrom(csr.indexOf(cavern.getTarget()));
+        for (int v = 0; v < csr.size(); v++) {
+            Assertions.assertEquals(cavern.minPathLengthToTarget(csr.node(v)), dist[v]);
+        }
+    }
+
+    @Test
+    void test_long_edges_need_dijkstra() {
+        // A row of three tiles joined by passages of lengths 20 and 3, and a tile that cannot be reached
+        Node[] nodes = new Node[4];
+        for (int c = 0; c < nodes.length; c++) {
+            nodes[c] = new Node(c, new Tile(0, c == 3 ? 4 : c, 0, Tile.Type.FLOOR));
+        }
+        connect(nodes[0], nodes[1], 20);
+        connect(nodes[1], nodes[2], 3);
+        CsrGraph csr = CsrGraph.of(List.of(nodes), 1, 5);
+
+        Assertions.assertEquals(ShortestPaths.Engine.DIJKSTRA, ShortestPaths.Engine.suitedTo(csr));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShortestPaths(csr, ShortestPaths.Engine.DIAL));
+        int[] dist = new ShortestPaths(csr).distancesFrom(2);
+        Assertions.assertTrue(Arrays.equals(new int[]{23, 3, 0, ShortestPaths.UNREACHED}, dist));
+    }
+
+    /**
+     * Join n and m by a passage of length len in both directions.
+     */
+    static void connect(Node n, Node m, int len) {
+        n.addEdge(new Edge(n, m, len));
+        m.addEdge(new Edge(m, n, len));
+    }
+}
@@ -0,0 +1,144 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class StripedEdgeBuilderTest {
+
+    /**
+     * Return a grid of size (rows, cols) with walls at random, drawn from seed, and no edges.
+     * The open nodes are numbered 0..n-1 in column-major order, so not in the order the builder visits them,
+     * and the walls after them.
+     */
+    static Node[][] createGrid(int rows, int cols, long seed) {
+        Random rand = new Random(seed);
+        Tile.Type[][] types = new Tile.Type[rows][cols];
+        int open = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                types[r][c] = rand.nextInt(4) == 0 ? Tile.Type.WALL : Tile.Type.FLOOR;
+                open += types[r][c] == Tile.Type.WALL ? 0 : 1;
+            }
+        }
+        Node[][] tiles = new Node[rows][cols];
+        long nextOpen = 0;
+        long nextWall = open;
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                long id = types[r][c] == Tile.Type.WALL ? nextWall++ : nextOpen++;
+                tiles[r][c] = new Node(id, new Tile(r, c, 0, types[r][c]));
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Return the length of the edge leaving n in direction dir, or 0 if there is none.
+     */
+    static int length(Node n, Cavern.Direction dir) {
+        Edge e = n.getEdge(dir);
+        return e == null ? 0 : e.length();
+    }
+
+    @Test
+    void test_large_grid_is_deterministic_for_seed() {
+        // Large enough for the stripes to be built in parallel
+        int rows = 300;
+        int cols = 250;
+        Node[][] first = createGrid(rows, cols, 1);
+        Node[][] second = createGrid(rows, cols, 1);
+        StripedEdgeBuilder.build(first, Cavern.MAX_EDGE_WEIGHT, 42);
+        StripedEdgeBuilder.build(second, Cavern.MAX_EDGE_WEIGHT, 42);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                for (Cavern.Direction dir : Cavern.Direction.values()) {
+                    Assertions.assertEquals(length(first[r][c], dir), length(second[r][c], dir));
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_edges_join_open_neighbours_both_ways() {
+        int rows = 3 * StripedEdgeBuilder.STRIPE_ROWS + 5;
+        int cols = 40;
+        Node[][] tiles = createGrid(rows, cols, 2);
+        StripedEdgeBuilder.build(tiles, Cavern.MAX_EDGE_WEIGHT, 7);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Node n = tiles[r][c];
+                for (Cavern.Direction dir : Cavern.Direction.values()) {
+                    int r1 = r + dir.getRowDelta();
+                    int c1 = c + dir.getColumnDelta();
+                    boolean passage = n.getTile().getType() != Tile.Type.WALL
+                        && r1 >= 0 && r1 < rows && c1 >= 0 && c1 < cols
+                        && tiles[r1][c1].getTile().getType() != Tile.Type.WALL;
+                    int weight = length(n, dir);
+                    if (passage) {
+                        Assertions.assertTrue(weight >= 1 && weight <= Cavern.MAX_EDGE_WEIGHT, "weight " + weight);
+                        Node other = tiles[r1][c1];
+                        Assertions.assertSame(other, n.getEdge(dir).getOther(n));
+                        Assertions.assertEquals(weight, length(other, Cavern.Direction.between(other.getTile(), n.getTile())));
+                    } else {
+                        Assertions.assertEquals(0, weight);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_csr_graph_matches_node_edges() {
+        int rows = 2 * StripedEdgeBuilder.STRIPE_ROWS + 3;
+        int cols = 30;
+        Node[][] tiles = createGrid(rows, cols, 3);
+        CsrGraph csr = StripedEdgeBuilder.build(tiles, Cavern.MAX_EDGE_WEIGHT, 11);
+        int open = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Node n = tiles[r][c];
+                if (n.getTile().getType() == Tile.Type.WALL) {
+                    Assertions.assertEquals(-1, csr.indexAt(r, c));
+                    Assertions.assertTrue(n.getExits().isEmpty());
+                    continue;
+                }
+                open++;
+                int v = csr.indexAt(r, c);
+                Assertions.assertEquals(n.getId(), v);
+                Assertions.assertSame(n, csr.node(v));
+                Assertions.assertEquals(n.getExits().size(), csr.degree(v));
+
+                // The edges of a node are in the order of the directions
+                int e = csr.firstEdge(v);
+                for (Cavern.Direction dir : Cavern.Direction.values()) {
+                    Edge edge = n.getEdge(dir);
+                    if (edge != null) {
+                        Assertions.assertSame(n, edge.getSource());
+                        Assertions.assertSame(edge.getOther(n), csr.node(csr.neighbour(e)));
+                        Assertions.assertEquals(edge.length(), csr.weight(e));
+                        e++;
+                    }
+                }
+                Assertions.assertEquals(csr.endEdge(v), e);
+            }
+        }
+        Assertions.assertEquals(open, csr.size());
+    }
+
+    @Test
+    void test_constructive_explore_cavern_is_deterministic_for_seed() {
+        CavernTestHelper.assertSameCavern(
+            Cavern.digExploreCavern(40, 60, new Random(21), Cavern.Generation.CONSTRUCTIVE),
+            Cavern.digExploreCavern(40, 60, new Random(21), Cavern.Generation.CONSTRUCTIVE));
+    }
+
+    @Test
+    void test_constructive_escape_cavern_is_deterministic_for_seed() {
+        Cavern cavern = Cavern.digEscapeCavern(40, 60, 20, 30, new Random(22), Cavern.Generation.CONSTRUCTIVE);
+        CavernTestHelper.assertSameCavern(cavern,
+            Cavern.digEscapeCavern(40, 60, 20, 30, new Random(22), Cavern.Generation.CONSTRUCTIVE));
+        Assertions.assertEquals(Tile.Type.FLOOR, cavern.getTileAt(20, 30).getType());
+    }
+}
@@ -2,9 +2,14 @@ package student.dijkstra;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import student.EqualsById;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class DijkstraAlgorithmTest extends DijkstraTestHelper {
 
@@ -28,4 +33,161 @@ public class DijkstraAlgorithmTest extends DijkstraTestHelper {
         Assertions.assertEquals(path, List.of(nodes.get(0), nodes.get(4), nodes.get(3)));
     }
 
+    @Test
+    void Test_FindsShortestPathsToMultipleTargets() {
+        var nodes = makeTestNodes(6);
+        // 0 - 1 - 2 - 3 - 4
+        // 0 - 5 - 3
+        nodes.get(0).setNeighbours(nodes, 1, 5);
+        nodes.get(1).setNeighbours(nodes, 0, 2);
+        nodes.get(2).setNeighbours(nodes, 1, 3);
+        nodes.get(3).setNeighbours(nodes, 2, 4, 5);
+        nodes.get(4).setNeighbours(nodes, 3);
+        nodes.get(5).setNeighbours(nodes, 0, 3);
+
+        var targetIds = Set.of(nodes.get(2).getId(), nodes.get(4).getId());
+
+        var paths = new DijkstraAlgorithm<>(nodes.get(0), targetIds).findShortestPath();
+
+        Assertions.assertEquals(List.of(nodes.get(0), nodes.get(1), nodes.get(2)),
+                paths.get(nodes.get(2).getId()).getNodes());
+        Assertions.assertEquals(List.of(nodes.get(0), nodes.get(5), nodes.get(3), nodes.get(4)),
+                paths.get(nodes.get(4).getId()).getNodes());
+    }
+
+    @Test
+    void Test_StopsWhenTargetIsUnreachable() {
+        var nodes = makeTestNodes(3);
+        // 0 - 1    2
+        nodes.get(0).setNeighbours(nodes, 1);
+        nodes.get(1).setNeighbours(nodes, 0);
+
+        var exitId = nodes.get(2).getId();
+
+        var paths = new DijkstraAlgorithm<>(nodes.get(0), exitId).findShortestPath();
+
+        Assertions.assertFalse(paths.containsKey(exitId));
+    }
+
+    /**
+     * A node whose edge weights and gold are known only to its path type: it does not override
+     * DijkstraNode.getWeightTo or DijkstraNode.getGold
+     */
+    static class PathWeightedNode extends EqualsById implements DijkstraNode<PathWeightedNode> {
+        private final long id;
+        private final int gold;
+        private final Map<PathWeightedNode, Integer> edges = new HashMap<>();
+
+        PathWeightedNode(long id, int gold) {
+            this.id = id;
+            this.gold = gold;
+        }
+
+        static void connect(PathWeightedNode a, PathWeightedNode b, int weight) {
+            a.edges.put(b, weight);
+            b.edges.put(a, weight);
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Set<PathWeightedNode> getNeighbours() {
+            return edges.keySet();
+        }
+
+        @Override
+        public DijkstraPath<PathWeightedNode> wrapToPath() {
+            return new PathWeightedPath(List.of(this));
+        }
+    }
+
+    /**
+     * The path of PathWeightedNodes: its weight is the sum of its edge weights and its gold the sum of the gold
+     * of its distinct nodes
+     */
+    static class PathWeightedPath extends DijkstraPath<PathWeightedNode> {
+        PathWeightedPath(List<PathWeightedNode> nodes) {
+            super(nodes);
+        }
+
+        @Override
+        public DijkstraPath<PathWeightedNode> cloneWithNode(PathWeightedNode node) {
+            var copy = new PathWeightedPath(getNodes());
+            copy.addNode(node);
+            return copy;
+        }
+
+        @Override
+        public int compareTo(DijkstraPath<PathWeightedNode> otherPath) {
+            if (!getWeight().equals(otherPath.getWeight())) {
+                return getWeight().compareTo(otherPath.getWeight());
+            }
+            return otherPath.getGold().compareTo(getGold());
+        }
+
+        @Override
+        public Integer getWeight() {
+            int weight = 0;
+            for (int i = 1; i < getSize(); i++) {
+                weight += getNodes().get(i - 1).edges.get(getNodes().get(i));
+            }
+            return weight;
+        }
+
+        @Override
+        public Integer getGold() {
+            return new HashSet<>(getNodes()).stream().mapToInt(n -> n.gold).sum();
+        }
+    }
+
+    /**
+     * Return the best path from start to target by the order of PathWeightedPath.compareTo,
+     * trying every path that visits each node once
+     */
+    static DijkstraPath<PathWeightedNode> bruteForceBestPath(DijkstraPath<PathWeightedNode> path, long targetId) {
+        var last = path.getNodes().get(path.getSize() - 1);
+        if (last.getId() == targetId) {
+            return path;
+        }
+        DijkstraPath<PathWeightedNode> best = null;
+        for (var neighbour : last.getNeighbours()) {
+            if (!path.getNodes().contains(neighbour)) {
+                var candidate = bruteForceBestPath(path.cloneWithNode(neighbour), targetId);
+                if (candidate != null && (best == null || candidate.compareTo(best) < 0)) {
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void Test_PathWeightsComeFromPathContract() {
+        // 0 -10- 1 -10- 3
+        // 0 -1- 2 -1- 4 -1- 3, with gold on 5 on the equally light detour 2 - 5 - 4
+        var nodes = new ArrayList<PathWeightedNode>();
+        for (int i = 0; i < 6; i++) {
+            nodes.add(new PathWeightedNode(i, i == 5 ? 7 : 0));
+        }
+        PathWeightedNode.connect(nodes.get(0), nodes.get(1), 10);
+        PathWeightedNode.connect(nodes.get(1), nodes.get(3), 10);
+        PathWeightedNode.connect(nodes.get(0), nodes.get(2), 1);
+        PathWeightedNode.connect(nodes.get(2), nodes.get(4), 2);
+        PathWeightedNode.connect(nodes.get(2), nodes.get(5), 1);
+        PathWeightedNode.connect(nodes.get(5), nodes.get(4), 1);
+        PathWeightedNode.connect(nodes.get(4), nodes.get(3), 1);
+
+        long exitId = 3;
+        var path = new DijkstraAlgorithm<>(nodes.get(0), exitId).findShortestPath().get(exitId);
+        var best = bruteForceBestPath(nodes.get(0).wrapToPath(), exitId);
+
+        Assertions.assertEquals(List.of(nodes.get(0), nodes.get(2), nodes.get(5), nodes.get(4), nodes.get(3)),
+                path.getNodes());
+        Assertions.assertEquals(best.getNodes(), path.getNodes());
+        Assertions.assertEquals(4, path.getWeight());
+        Assertions.assertEquals(7, path.getGold());
+    }
 }
@@ -243,6 +243,43 @@ public class EscapePathTest {
         );
     }
 
+    @Test
+    void Test_getWeight_updatedByAddNode() {
+        var nodes = nodeList(3);
+        var newNode = getMockEscapeNode();
+        Mockito.when(nodes.get(1).getEdge(nodes.get(0).getId())).thenReturn(
+                new Edge(getMockNode(), getMockNode(), 4)
+        );
+        Mockito.when(nodes.get(2).getEdge(nodes.get(1).getId())).thenReturn(
+                new Edge(getMockNode(), getMockNode(), 4)
+        );
+
+        var p = new EscapePath(nodes.subList(0, 2));
+        Assertions.assertEquals(4, p.getWeight());
+
+        // The running total only needs the weight of the new edge
+        p.addNode(nodes.get(2));
+        Assertions.assertEquals(8, p.getWeight());
+    }
+
+    @Test
+    void Test_getGold_updatedByReplaceAtIndex() {
+        var nodes = nodeList(3);
+        var golds = new int[]{10, 100, 1000};
+        for (int i = 0; i < golds.length; i++) {
+            Mockito.when(nodes.get(i).getTile()).thenReturn(
+                    new Tile(0, 0, golds[i], Tile.Type.FLOOR)
+            );
+        }
+
+        var p = new EscapePath(nodes.subList(0, 2));
+        Assertions.assertEquals(110, p.getGold());
+
+        // Gold on a tile visited twice is only counted once
+        p.replaceAtIndex(List.of(nodes.get(1), nodes.get(2), nodes.get(1)), 1);
+        Assertions.assertEquals(1110, p.getGold());
+    }
+
     // replaceAtIndex
 
     @Test
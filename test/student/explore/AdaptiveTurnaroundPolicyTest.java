@@ -0,0 +1,53 @@
+package student.explore;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveTurnaroundPolicyTest {
+
+    static ExploreProgress progress(int startDistance, int closestUnexploredDistance, int steps) {
+        return new ExploreProgress() {
+            @Override
+            public int startDistance() {
+                return startDistance;
+            }
+
+            @Override
+            public int closestUnexploredDistance() {
+                return closestUnexploredDistance;
+            }
+
+            @Override
+            public int steps() {
+                return steps;
+            }
+        };
+    }
+
+    @Test
+    void test_threshold_when_going_straight() {
+        // 10 closer to the target in 10 steps: no detour
+        var policy = new AdaptiveTurnaroundPolicy();
+        Assertions.assertEquals(0, policy.threshold(progress(30, 20, 10)));
+    }
+
+    @Test
+    void test_threshold_scales_with_cavern_size() {
+        // Twice as many steps as the distance gained, so the way is estimated at twice startDistance
+        var policy = new AdaptiveTurnaroundPolicy();
+        Assertions.assertEquals(1, policy.threshold(progress(30, 20, 20)));
+        Assertions.assertEquals(5, policy.threshold(progress(90, 60, 60)));
+    }
+
+    @Test
+    void test_threshold_is_capped() {
+        // only 5 closer to the target in 200 steps
+        var policy = new AdaptiveTurnaroundPolicy();
+        Assertions.assertEquals(AdaptiveTurnaroundPolicy.MAX_THRESHOLD, policy.threshold(progress(90, 85, 200)));
+    }
+
+    @Test
+    void test_fixed_threshold() {
+        Assertions.assertEquals(7, TurnaroundPolicy.fixed(7).threshold(progress(30, 25, 20)));
+    }
+}
@@ -4,17 +4,15 @@ import game.NodeStatus;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
 import java.util.*;
 
-import org.mockito.internal.util.reflection.FieldReader;
 import student.explore.ExploreGraph;
 import student.explore.ExploreNode;
 
 public class ExploreGraphTest {
 
     @Test
-    void test_log_node_visit_no_neighbours() throws NoSuchFieldException {
+    void test_log_node_visit_no_neighbours() {
 
         long nodeId = 56;
         int nodeDistance = 24;
@@ -24,22 +22,20 @@ public class ExploreGraphTest {
         Collection<NodeStatus> noNeighbours = new ArrayList<>();
         graph.logNodeVisit(nodeId, nodeDistance, noNeighbours);
 
-        Field nodeMapField = ExploreGraph.class.getDeclaredField("nodeMap");
-        var nodeMap = (Map<Long, ExploreNode>) new FieldReader(graph, nodeMapField).read();
 
-        // Assert that the internal node map has 1 entry
-        var expected = new HashSet<>(List.of(nodeId));
-        Assertions.assertEquals(expected, nodeMap.keySet());
+        // Assert that the graph has 1 node
+        Assertions.assertEquals(1, graph.getNodeCount());
 
-        // Assert entry is marked and visited and has the correct distance value
-        var node = nodeMap.get(nodeId);
+        // Assert node is marked as visited and has the correct distance value
+        var node = graph.getNode(nodeId);
+        Assertions.assertTrue(node.getVisited());
         Assertions.assertEquals(nodeDistance, node.getDistanceToTarget());
 
     }
 
 
     @Test
-    void test_log_node_visit_with_new_neighbours() throws NoSuchFieldException {
+    void test_log_node_visit_with_new_neighbours() {
 
         // Log a node visit with 2 neighbours
         long nodeId = 56, nodeAId = 57, nodeBId = 58;
@@ -52,16 +48,13 @@ public class ExploreGraphTest {
         ExploreGraph graph = new ExploreGraph();
         graph.logNodeVisit(nodeId, nodeDistance, neighbours);
 
-        Field nodeMapField = ExploreGraph.class.getDeclaredField("nodeMap");
-        var nodeMap = (Map<Long, ExploreNode>) new FieldReader(graph, nodeMapField).read();
 
-        // Assert that the internal node map has 3 entries
-        var expected = new HashSet<>(List.of(nodeId, nodeAId, nodeBId));
-        Assertions.assertEquals(expected, nodeMap.keySet());
+        // Assert that the graph has 3 nodes
+        Assertions.assertEquals(3, graph.getNodeCount());
 
-        var parentNode = nodeMap.get(nodeId);
-        var NodeA = nodeMap.get(nodeAId);
-        var NodeB = nodeMap.get(nodeBId);
+        var parentNode = graph.getNode(nodeId);
+        var NodeA = graph.getNode(nodeAId);
+        var NodeB = graph.getNode(nodeBId);
 
         // Assert that the neighbours have a neighbour entry with the visited node (bidirectional connection)
         Assertions.assertEquals(parentNode, NodeA.getNeighbours().toArray()[0]);
@@ -79,7 +72,33 @@ public class ExploreGraphTest {
     }
 
     @Test
-    void test_log_node_visit_node_already_exist() throws NoSuchFieldException {
+    void test_log_node_visit_with_neighbour_arrays() {
+
+        // Log a node visit with 2 neighbours passed in reusable arrays holding a stale third entry
+        long nodeId = 56, nodeAId = 57, nodeBId = 58;
+        int nodeDistance = 24, nodeADistance = 23, nodeBDistance = 25;
+
+        long[] ids = {nodeAId, nodeBId, 99, 0};
+        int[] distances = {nodeADistance, nodeBDistance, 1, 0};
+
+        ExploreGraph graph = new ExploreGraph();
+        graph.logNodeVisit(nodeId, nodeDistance, ids, distances, 2);
+
+
+        // Assert that only the first 2 entries of the arrays were logged
+        Assertions.assertEquals(3, graph.getNodeCount());
+        Assertions.assertNull(graph.getNode(99));
+
+        // Assert that the neighbours are connected to the visited node and have the correct distances
+        var parentNode = graph.getNode(nodeId);
+        Assertions.assertEquals(parentNode, graph.getNode(nodeAId).getNeighbours().toArray()[0]);
+        Assertions.assertEquals(nodeADistance, graph.getNode(nodeAId).getDistanceToTarget());
+        Assertions.assertEquals(nodeBDistance, graph.getNode(nodeBId).getDistanceToTarget());
+        Assertions.assertFalse(graph.getNode(nodeBId).getVisited());
+    }
+
+    @Test
+    void test_log_node_visit_node_already_exist() {
 
         // Assert that A now has the visited flag
 
@@ -94,23 +113,21 @@ public class ExploreGraphTest {
         graph.logNodeVisit(nodeId, nodeDistance, neighbours);
 
 
-        Field nodeMapField = ExploreGraph.class.getDeclaredField("nodeMap");
-        var nodeMap = (Map<Long, ExploreNode>) new FieldReader(graph, nodeMapField).read();
 
         // Visit A next
-        var OriginalNodeHash = nodeMap.get(nodeAId).hashCode();
+        Assertions.assertFalse(graph.getNode(nodeAId).getVisited());
         graph.logNodeVisit(nodeAId, nodeADistance, new ArrayList<>());
 
         // Assert that Node A hasn't been re-created
-        Assertions.assertEquals(nodeMap.get(nodeAId).hashCode(), OriginalNodeHash);
+        Assertions.assertEquals(2, graph.getNodeCount());
 
         // Assert that A now has the visited flag
-        Assertions.assertTrue(nodeMap.get(nodeAId).getVisited());
+        Assertions.assertTrue(graph.getNode(nodeAId).getVisited());
 
     }
 
     @Test
-    void test_get_unexplored_neighbours() throws NoSuchFieldException {
+    void test_get_unexplored_neighbours() {
 
         // Log a visit with neighbours A and B
         // Node A is 20 units from the target and B is 22
@@ -125,11 +142,9 @@ public class ExploreGraphTest {
         var neighbours = new ArrayList<>(Arrays.asList(nodeA, nodeB));
 
         ExploreGraph graph = new ExploreGraph();
-        Field nodeMapField = ExploreGraph.class.getDeclaredField("nodeMap");
-        var nodeMap = (Map<Long, ExploreNode>) new FieldReader(graph, nodeMapField).read();
         graph.logNodeVisit(nodeId, nodeDistance, neighbours);
 
-        var expected = new ArrayList<>(Arrays.asList(nodeMap.get(nodeAId), nodeMap.get(nodeBId)));
+        var expected = new ArrayList<>(Arrays.asList(graph.getNode(nodeAId), graph.getNode(nodeBId)));
         var unexploredNeighbours = graph.getUnexploredNeighbours(nodeId);
 
         Assertions.assertEquals(unexploredNeighbours, expected);
@@ -209,7 +224,7 @@ public class ExploreGraphTest {
     }
 
     @Test
-    void test_get_path_to_best_node_similar_distance() throws NoSuchFieldException {
+    void test_get_path_to_best_node_similar_distance() {
 
         // Create a graph with the following topography
         //  A         E
@@ -232,7 +247,7 @@ public class ExploreGraphTest {
     }
 
     @Test
-    void test_get_path_to_best_node() throws NoSuchFieldException {
+    void test_get_path_to_best_node() {
 
         // Create a graph with the following topography
         //  A         E
@@ -255,77 +270,32 @@ public class ExploreGraphTest {
 
     }
 
-    static ExploreGraph createTestGraph() throws NoSuchFieldException {
-
-        long nodeAId = 56, nodeBId = 57, nodeCId = 58, nodeDId = 59, nodeEId = 60, nodeFId = 62;
-
-        // Create the exploreNodes
-        ExploreNode
-                NodeA = new ExploreNode(nodeAId, 20, false), NodeB = new ExploreNode(nodeBId, 21, true),
-                NodeC = new ExploreNode(nodeCId, 20, true), NodeD = new ExploreNode(nodeDId, 21, true),
-                NodeE = new ExploreNode(nodeEId, 22, false), NodeF = new ExploreNode(nodeFId, 22, true);
-
-
-        AddNeighbours(NodeA, List.of(NodeB));
-        AddNeighbours(NodeB, List.of(NodeC));
-        AddNeighbours(NodeC, List.of(NodeD));
-        AddNeighbours(NodeD, List.of(NodeE, NodeF));
-        AddNeighbours(NodeE, List.of(NodeD));
-
-
-        ExploreGraph graph = new ExploreGraph();
-        Field nodeMapField = ExploreGraph.class.getDeclaredField("nodeMap");
-        var nodeMap = (Map<Long, ExploreNode>) new FieldReader(graph, nodeMapField).read();
-
-        nodeMap.put(nodeAId, NodeA);
-        nodeMap.put(nodeBId, NodeB);
-        nodeMap.put(nodeCId, NodeC);
-        nodeMap.put(nodeDId, NodeD);
-        nodeMap.put(nodeEId, NodeE);
-        nodeMap.put(nodeFId, NodeF);
-
-        return graph;
+    static ExploreGraph createTestGraph() {
+        return createTestGraph(22);
     }
 
+    static ExploreGraph createTestGraphSimilar() {
+        return createTestGraph(21);
+    }
 
-    static ExploreGraph createTestGraphSimilar() throws NoSuchFieldException {
+    /**
+     * Log the visits of an explorer that went from B to C, D and F, leaving A and E unexplored.
+     * A is 20 from the target and E is EDistance.
+     */
+    static ExploreGraph createTestGraph(int EDistance) {
 
         long nodeAId = 56, nodeBId = 57, nodeCId = 58, nodeDId = 59, nodeEId = 60, nodeFId = 62;
 
-        // Create the exploreNodes
-        ExploreNode
-                NodeA = new ExploreNode(nodeAId, 20, false), NodeB = new ExploreNode(nodeBId, 21, true),
-                NodeC = new ExploreNode(nodeCId, 20, true), NodeD = new ExploreNode(nodeDId, 21, true),
-                NodeE = new ExploreNode(nodeEId, 21, false), NodeF = new ExploreNode(nodeFId, 22, true);
-
-
-        AddNeighbours(NodeA, List.of(NodeB));
-        AddNeighbours(NodeB, List.of(NodeC));
-        AddNeighbours(NodeC, List.of(NodeD));
-        AddNeighbours(NodeD, List.of(NodeE, NodeF));
-        AddNeighbours(NodeE, List.of(NodeD));
-
+        NodeStatus nodeA = new NodeStatus(nodeAId, 20), nodeB = new NodeStatus(nodeBId, 21),
+                nodeC = new NodeStatus(nodeCId, 20), nodeD = new NodeStatus(nodeDId, 21),
+                nodeE = new NodeStatus(nodeEId, EDistance), nodeF = new NodeStatus(nodeFId, 22);
 
         ExploreGraph graph = new ExploreGraph();
-        Field nodeMapField = ExploreGraph.class.getDeclaredField("nodeMap");
-        var nodeMap = (Map<Long, ExploreNode>) new FieldReader(graph, nodeMapField).read();
-
-        nodeMap.put(nodeAId, NodeA);
-        nodeMap.put(nodeBId, NodeB);
-        nodeMap.put(nodeCId, NodeC);
-        nodeMap.put(nodeDId, NodeD);
-        nodeMap.put(nodeEId, NodeE);
-        nodeMap.put(nodeFId, NodeF);
+        graph.logNodeVisit(nodeBId, nodeB.distanceToTarget(), List.of(nodeA, nodeC));
+        graph.logNodeVisit(nodeCId, nodeC.distanceToTarget(), List.of(nodeB, nodeD));
+        graph.logNodeVisit(nodeDId, nodeD.distanceToTarget(), List.of(nodeC, nodeE, nodeF));
+        graph.logNodeVisit(nodeFId, nodeF.distanceToTarget(), List.of(nodeD));
 
         return graph;
     }
-
-    static void AddNeighbours(ExploreNode parent, List<ExploreNode> neighbours){
-
-        for (var neighbour: neighbours){
-            parent.addNeighbour(neighbour);
-            neighbour.addNeighbour(parent);
-        }
-    }
-
 }
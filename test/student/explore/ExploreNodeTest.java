@@ -1,5 +1,6 @@
 package student.explore;
 
+import game.NodeStatus;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import student.explore.ExploreNode;
@@ -15,73 +16,105 @@ public class ExploreNodeTest {
     long nodeBId = 56;
     int distanceB = 21;
 
+    /**
+     * Return a graph where node A has been visited, with the given neighbours
+     */
+    ExploreGraph visitA(NodeStatus... neighbours) {
+        var graph = new ExploreGraph();
+        graph.logNodeVisit(nodeAId, distanceA, List.of(neighbours));
+        return graph;
+    }
 
     @Test
     public void test_new_explore_node(){
-        new ExploreNode(nodeAId, distanceA, true);
+        Assertions.assertNotNull(visitA().getNode(nodeAId));
     }
 
     @Test
     public void test_explore_node_get_id(){
-        var node = new ExploreNode(nodeAId, distanceA, true);
+        var node = visitA().getNode(nodeAId);
         Assertions.assertEquals(nodeAId, node.getId());
     }
 
     @Test
     public void test_explore_node_get_visited(){
-        var node = new ExploreNode(nodeAId, distanceA, true);
+        var node = visitA().getNode(nodeAId);
         Assertions.assertTrue(node.getVisited());
     }
 
     @Test
     public void test_explore_node_visit_unvisited_node(){
-        // test that visiting a node updated the visited variable
-        var node = new ExploreNode(nodeAId, distanceA, false);
+        // test that visiting a node updates the visited flag of its existing views
+        var graph = visitA(new NodeStatus(nodeBId, distanceB));
+        var node = graph.getNode(nodeBId);
         Assertions.assertFalse(node.getVisited());
-        node.visit();
+        graph.logNodeVisit(nodeBId, distanceB, List.of(new NodeStatus(nodeAId, distanceA)));
         Assertions.assertTrue(node.getVisited());
     }
 
     @Test
     public void test_explore_node_get_distance(){
-        var node = new ExploreNode(nodeAId, distanceA, true);
+        var node = visitA().getNode(nodeAId);
         Assertions.assertEquals(distanceA, node.getDistanceToTarget());
     }
 
     @Test
     public void test_explore_node_add_neighbour(){
-        var nodeA = new ExploreNode(nodeAId, distanceA, true);
-        var nodeB = new ExploreNode(nodeBId, distanceB, false);
+        var graph = visitA();
+        var nodeA = graph.getNode(nodeAId);
 
         // assert that node A neighbours' set is empty before adding
         Assertions.assertEquals(new HashSet<ExploreNode>(), nodeA.getNeighbours());
 
-        nodeA.addNeighbour(nodeB);
+        graph.logNodeVisit(nodeAId, distanceA, List.of(new NodeStatus(nodeBId, distanceB)));
+        var nodeB = graph.getNode(nodeBId);
         Assertions.assertEquals(new HashSet<>(List.of(nodeB)), nodeA.getNeighbours());
 
-        // Adding a neighbour should not be cyclical
-        Assertions.assertEquals(new HashSet<ExploreNode>(), nodeB.getNeighbours());
+        // Neighbours are linked both ways
+        Assertions.assertEquals(new HashSet<>(List.of(nodeA)), nodeB.getNeighbours());
     }
 
     @Test
     public void test_explore_node_compare() {
-        // Assert that NodeB is selected as the smaller value when its closer to the target
+        // Assert that NodeA is selected as the smaller value when its closer to the target
 
-        var nodeA = new ExploreNode(nodeAId, distanceA, true);
-        var nodeB = new ExploreNode(nodeBId, distanceB, false);
+        var graph = visitA(new NodeStatus(nodeBId, distanceB));
+        var nodeA = graph.getNode(nodeAId);
+        var nodeB = graph.getNode(nodeBId);
         Assertions.assertEquals(-1, nodeA.compareTo(nodeB));
     }
 
 
     @Test
     public void test_explore_node_compare_same_distance() {
-        // Assert that NodeB is selected as the smaller value when the distances are identical
-        // As it has the largest ID
+        // Assert that NodeA is selected as the smaller value when the distances are identical
+        // As it has the smallest ID
 
-        var nodeA = new ExploreNode(nodeAId, distanceA, true);
-        var nodeB = new ExploreNode(nodeBId, distanceA, false);
+        var graph = visitA(new NodeStatus(nodeBId, distanceA));
+        var nodeA = graph.getNode(nodeAId);
+        var nodeB = graph.getNode(nodeBId);
         Assertions.assertEquals(-1, nodeA.compareTo(nodeB));
     }
 
-
+    @Test
+    public void test_explore_node_best_unvisited_neighbour() {
+        // Assert that neighbours are kept sorted without duplicates and that visited ones are skipped
+
+        var graph = visitA();
+        var node = graph.getNode(nodeAId);
+        Assertions.assertNull(node.getBestUnvisitedNeighbour());
+
+        var statusB = new NodeStatus(nodeBId, distanceB);
+        var statusC = new NodeStatus(57, distanceA);
+        var statusD = new NodeStatus(58, distanceB + 1);
+        graph.logNodeVisit(nodeAId, distanceA, List.of(statusD, statusB, statusC, statusB));
+        var nodeB = graph.getNode(nodeBId);
+        var nodeC = graph.getNode(57);
+        var nodeD = graph.getNode(58);
+        Assertions.assertEquals(List.of(nodeC, nodeB, nodeD), List.copyOf(node.getNeighbours()));
+        Assertions.assertEquals(nodeC, node.getBestUnvisitedNeighbour());
+
+        graph.logNodeVisit(57, distanceA, List.of(new NodeStatus(nodeAId, distanceA)));
+        Assertions.assertEquals(nodeB, node.getBestUnvisitedNeighbour());
+    }
 }
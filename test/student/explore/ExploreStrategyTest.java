@@ -0,0 +1,128 @@
+package student.explore;
+
+import game.ExplorationState;
+import game.NodeStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ExploreStrategyTest {
+
+    /**
+     * An ExplorationState over a grid of rows, where '#' is a wall, 'S' the entrance and 'T' the target
+     */
+    static class GridState implements ExplorationState {
+        private final String[] rows;
+        private final int columns;
+        private final long target;
+        private long current;
+        private int steps;
+
+        GridState(String... rows) {
+            this.rows = rows;
+            this.columns = rows[0].length();
+            this.current = find('S');
+            this.target = find('T');
+        }
+
+        private long find(char c) {
+            for (int r = 0; r < rows.length; r++) {
+                int col = rows[r].indexOf(c);
+                if (col >= 0) {
+                    return (long) r * columns + col;
+                }
+            }
+            throw new IllegalArgumentException("no " + c);
+        }
+
+        private int distance(long id) {
+            return (int) (Math.abs(id / columns - target / columns) + Math.abs(id % columns - target % columns));
+        }
+
+        private boolean open(int r, int c) {
+            return r >= 0 && r < rows.length && c >= 0 && c < columns && rows[r].charAt(c) != '#';
+        }
+
+        @Override
+        public long getCurrentLocation() {
+            return current;
+        }
+
+        @Override
+        public Collection<NodeStatus> getNeighbours() {
+            int r = (int) (current / columns);
+            int c = (int) (current % columns);
+            List<NodeStatus> neighbours = new ArrayList<>();
+            int[][] moves = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+            for (int[] move : moves) {
+                if (open(r + move[0], c + move[1])) {
+                    long id = (long) (r + move[0]) * columns + c + move[1];
+                    neighbours.add(new NodeStatus(id, distance(id)));
+                }
+            }
+            return neighbours;
+        }
+
+        @Override
+        public int getDistanceToTarget() {
+            return distance(current);
+        }
+
+        @Override
+        public void moveTo(long id) {
+            if (getNeighbours().stream().noneMatch(n -> n.nodeID() == id)) {
+                throw new IllegalArgumentException("moveTo: " + id + " is not a neighbour of " + current);
+            }
+            current = id;
+            steps++;
+        }
+    }
+
+    static GridState createWalledOffState() {
+        // The target is walled off from the entrance: the way to it goes down to the bottom row and back up
+        return new GridState(
+                "S....#...",
+                ".###.#.#.",
+                ".#...#.#T",
+                ".#.###.##",
+                "........."
+        );
+    }
+
+    @Test
+    void test_every_strategy_finds_target() {
+        for (String name : ExploreStrategies.names()) {
+            var state = createWalledOffState();
+            ExploreStrategies.named(name).explore(state);
+            Assertions.assertEquals(0, state.getDistanceToTarget(), name);
+        }
+    }
+
+    @Test
+    void test_tremaux_walks_each_passage_at_most_twice() {
+        var state = createWalledOffState();
+        ExploreStrategy.tremaux().explore(state);
+        // The cavern has 30 open tiles, so a depth-first tree has 29 passages
+        Assertions.assertTrue(state.steps <= 2 * 29, "steps " + state.steps);
+    }
+
+    @Test
+    void test_frontier_a_star_goes_straight_through_open_cavern() {
+        var state = new GridState(
+                "S....",
+                ".....",
+                "....T"
+        );
+        ExploreStrategy.frontierAStar().explore(state);
+        Assertions.assertEquals(6, state.steps);
+    }
+
+    @Test
+    void test_registry_default_and_unknown_name() {
+        Assertions.assertEquals(ExploreStrategies.DEFAULT, ExploreStrategies.names().iterator().next());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExploreStrategies.named("unknown"));
+    }
+}